@@ -0,0 +1,73 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared-queue add/deleteMin throughput of {@link MultiQueue} against a {@link BinaryHeap} behind a monitor.
+ * Runs with as many threads as there are cores by default; compare scaling with {@code -t 1,2,4,...}.
+ *
+ * @author Ilya Murzinov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentHeapBenchmark {
+
+    private static final int VALUES_MASK = (1 << 16) - 1;
+
+    @Param({"MultiQueue", "SynchronizedBinaryHeap"})
+    private String implementation;
+
+    @Param({"100000"})
+    private int size;
+
+    private PriorityQueue<Integer> queue;
+    private Integer[] values;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        values = new Integer[VALUES_MASK + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+        queue = PriorityQueues.create(implementation);
+        for (int i = 0; i < size; i++) {
+            queue.add(values[i & VALUES_MASK]);
+        }
+    }
+
+    @Benchmark
+    public Integer addDeleteMin(ThreadState state) {
+        queue.add(values[state.next()]);
+        return queue.deleteMin();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int index = ThreadLocalRandom.current().nextInt();
+
+        int next() {
+            return index++ & VALUES_MASK;
+        }
+    }
+}
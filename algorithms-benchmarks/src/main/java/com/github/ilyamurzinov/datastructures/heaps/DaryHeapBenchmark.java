@@ -0,0 +1,57 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state add/deleteMin on {@link DaryHeap} across arities and sizes. Arity 2 is the binary layout, so the
+ * results show at which heap size the wider nodes start to pay off.
+ *
+ * @author Ilya Murzinov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DaryHeapBenchmark {
+
+    @Param({"2", "4", "8"})
+    private int arity;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private DaryHeap<Integer> heap;
+    private Integer[] values;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        values = HeapBenchmark.KeyDistribution.RANDOM.values(size, new Random(42));
+        heap = new DaryHeap<>(arity);
+        for (Integer value : values) {
+            heap.add(value);
+        }
+    }
+
+    @Benchmark
+    public Integer addDeleteMin() {
+        heap.add(values[index]);
+        index = index + 1 == size ? 0 : index + 1;
+        return heap.deleteMin();
+    }
+}
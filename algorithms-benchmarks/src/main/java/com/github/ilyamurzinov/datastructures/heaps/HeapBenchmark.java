@@ -0,0 +1,100 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * add/deleteMin throughput of the {@link PriorityQueue} implementations against {@link java.util.PriorityQueue}.
+ * Run with {@code -prof gc} to see allocation rates.
+ *
+ * @author Ilya Murzinov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeapBenchmark {
+
+    @Param({"BinaryHeap", "DaryHeap", "BinomialHeap", "PairingHeap", "FibonacciHeap", "java.util.PriorityQueue"})
+    private String implementation;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"RANDOM", "ASCENDING", "DESCENDING"})
+    private KeyDistribution keyDistribution;
+
+    private PriorityQueue<Integer> heap;
+    private Integer[] values;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        values = keyDistribution.values(size, new Random(42));
+        heap = PriorityQueues.create(implementation);
+        for (Integer value : values) {
+            heap.add(value);
+        }
+    }
+
+    /**
+     * One add followed by one deleteMin on a heap that stays at {@code size} elements.
+     */
+    @Benchmark
+    public Integer addDeleteMin() {
+        heap.add(values[index]);
+        index = index + 1 == size ? 0 : index + 1;
+        return heap.deleteMin();
+    }
+
+    /**
+     * Fills an empty heap with {@code size} elements and drains it again.
+     */
+    @Benchmark
+    public int fillAndDrain() {
+        PriorityQueue<Integer> result = PriorityQueues.create(implementation);
+        for (Integer value : values) {
+            result.add(value);
+        }
+        int sum = 0;
+        while (!result.isEmpty()) {
+            sum += result.deleteMin();
+        }
+        return sum;
+    }
+
+    public enum KeyDistribution {
+        RANDOM, ASCENDING, DESCENDING;
+
+        Integer[] values(int size, Random random) {
+            Integer[] result = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                switch (this) {
+                    case ASCENDING:
+                        result[i] = i;
+                        break;
+                    case DESCENDING:
+                        result[i] = size - i;
+                        break;
+                    default:
+                        result[i] = random.nextInt();
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+/**
+ * Creates the benchmarked priority queues by name.
+ *
+ * @author Ilya Murzinov
+ */
+final class PriorityQueues {
+
+    private PriorityQueues() {
+    }
+
+    static <T> PriorityQueue<T> create(String implementation) {
+        switch (implementation) {
+            case "BinaryHeap":
+                return new BinaryHeap<>();
+            case "DaryHeap":
+                return new DaryHeap<>();
+            case "BinomialHeap":
+                return new BinomialHeap<>();
+            case "PairingHeap":
+                return new PairingHeap<>();
+            case "FibonacciHeap":
+                return new FibonacciHeap<>();
+            case "MultiQueue":
+                return new MultiQueue<>();
+            case "SynchronizedBinaryHeap":
+                return new SynchronizedPriorityQueue<>(new BinaryHeap<>());
+            case "java.util.PriorityQueue":
+                return new JdkPriorityQueue<>();
+            default:
+                throw new IllegalArgumentException("Unknown priority queue implementation: " + implementation);
+        }
+    }
+
+    private static final class SynchronizedPriorityQueue<T> implements PriorityQueue<T> {
+        private final PriorityQueue<T> queue;
+
+        private SynchronizedPriorityQueue(PriorityQueue<T> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public synchronized void add(T element) {
+            queue.add(element);
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public synchronized T findMin() {
+            return queue.findMin();
+        }
+
+        @Override
+        public synchronized T deleteMin() {
+            return queue.deleteMin();
+        }
+    }
+
+    private static final class JdkPriorityQueue<T> implements PriorityQueue<T> {
+        private final java.util.PriorityQueue<T> queue = new java.util.PriorityQueue<>();
+
+        @Override
+        public void add(T element) {
+            queue.add(element);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public T findMin() {
+            return queue.peek();
+        }
+
+        @Override
+        public T deleteMin() {
+            return queue.poll();
+        }
+    }
+}
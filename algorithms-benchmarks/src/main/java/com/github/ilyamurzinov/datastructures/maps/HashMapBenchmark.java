@@ -0,0 +1,124 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get/put/remove mixes on {@link HashMap} against {@link java.util.HashMap}. Run with {@code -prof gc} to see
+ * allocation rates.
+ *
+ * @author Ilya Murzinov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashMapBenchmark {
+
+    private static final int OPERATIONS_MASK = (1 << 10) - 1;
+
+    @Param({"maps.HashMap", "java.util.HashMap"})
+    private String implementation;
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "COLLIDING"})
+    private KeyDistribution keyDistribution;
+
+    @Param({"0.75"})
+    private double loadFactor;
+
+    private MapAdapter map;
+    private Object[] keys;
+    private Object[] missingKeys;
+    private byte[] operations;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Object[] allKeys = keyDistribution.keys(size * 2, random);
+        keys = new Object[size];
+        missingKeys = new Object[size];
+        System.arraycopy(allKeys, 0, keys, 0, size);
+        System.arraycopy(allKeys, size, missingKeys, 0, size);
+
+        map = MapAdapter.create(implementation, 16, loadFactor);
+        for (Object key : keys) {
+            map.put(key, key);
+        }
+
+        operations = new byte[OPERATIONS_MASK + 1];
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = (byte) random.nextInt(10);
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return map.get(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object getMissing() {
+        return map.get(missingKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object removeAndPut() {
+        Object key = keys[nextIndex()];
+        map.remove(key);
+        return map.put(key, key);
+    }
+
+    /**
+     * 80% hits, 10% overwrites, 10% remove-and-reinsert of existing keys, so the size stays constant.
+     */
+    @Benchmark
+    public Object mixed() {
+        int i = nextIndex();
+        Object key = keys[i];
+        switch (operations[i & OPERATIONS_MASK]) {
+            case 0:
+                return map.put(key, key);
+            case 1:
+                map.remove(key);
+                return map.put(key, key);
+            default:
+                return map.get(key);
+        }
+    }
+
+    /**
+     * Builds a map of {@code size} entries from the default capacity, paying for every resize on the way.
+     */
+    @Benchmark
+    public MapAdapter fill() {
+        MapAdapter result = MapAdapter.create(implementation, 16, loadFactor);
+        for (Object key : keys) {
+            result.put(key, key);
+        }
+        return result;
+    }
+
+    private int nextIndex() {
+        int result = index;
+        index = result + 1 == size ? 0 : result + 1;
+        return result;
+    }
+}
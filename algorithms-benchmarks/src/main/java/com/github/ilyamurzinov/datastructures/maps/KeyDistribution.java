@@ -0,0 +1,63 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.util.Random;
+
+/**
+ * @author Ilya Murzinov
+ */
+public enum KeyDistribution {
+    SEQUENTIAL {
+        @Override
+        Object key(int index, Random random) {
+            return index;
+        }
+    },
+    UNIFORM {
+        @Override
+        Object key(int index, Random random) {
+            return random.nextInt();
+        }
+    },
+    /**
+     * Keys whose hash codes take only a handful of values, as with a poor {@code hashCode} or adversarial input.
+     */
+    COLLIDING {
+        @Override
+        Object key(int index, Random random) {
+            return new CollidingKey(random.nextInt());
+        }
+    };
+
+    abstract Object key(int index, Random random);
+
+    Object[] keys(int size, Random random) {
+        java.util.Set<Object> keys = new java.util.LinkedHashSet<>();
+        while (keys.size() < size) {
+            keys.add(key(keys.size(), random));
+        }
+        return keys.toArray();
+    }
+
+    static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id & 0x7;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+/**
+ * Common view of the benchmarked maps, so that every implementation goes through the same call site.
+ *
+ * @author Ilya Murzinov
+ */
+interface MapAdapter {
+    Object get(Object key);
+
+    Object put(Object key, Object value);
+
+    Object remove(Object key);
+
+    static MapAdapter create(String implementation, int capacity, double loadFactor) {
+        switch (implementation) {
+            case "maps.HashMap": {
+                HashMap<Object, Object> map = new HashMap<>(capacity, loadFactor);
+                return new MapAdapter() {
+                    @Override
+                    public Object get(Object key) {
+                        return map.get(key);
+                    }
+
+                    @Override
+                    public Object put(Object key, Object value) {
+                        return map.put(key, value);
+                    }
+
+                    @Override
+                    public Object remove(Object key) {
+                        return map.remove(key);
+                    }
+                };
+            }
+            case "java.util.HashMap": {
+                java.util.HashMap<Object, Object> map = new java.util.HashMap<>(capacity, (float) loadFactor);
+                return new MapAdapter() {
+                    @Override
+                    public Object get(Object key) {
+                        return map.get(key);
+                    }
+
+                    @Override
+                    public Object put(Object key, Object value) {
+                        return map.put(key, value);
+                    }
+
+                    @Override
+                    public Object remove(Object key) {
+                        return map.remove(key);
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown map implementation: " + implementation);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * Binary heap of nodes that know their own position in the array, which makes {@link #decreaseKey} and
+ * {@link #remove} O(log n).
+ *
+ * @author Ilya Murzinov
+ */
+public class AddressableBinaryHeap<T> implements AddressablePriorityQueue<T> {
+
+    public static final int INITIAL_CAPACITY = 16;
+
+    private final Comparator<T> comparator;
+
+    private Node<T>[] nodes;
+    private int size;
+
+    public AddressableBinaryHeap() {
+        this(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public AddressableBinaryHeap(Comparator<T> comparator) {
+        this.comparator = Comparators.resolve(comparator);
+        this.nodes = (Node<T>[]) new Node<?>[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void add(T element) {
+        insert(element);
+    }
+
+    @Override
+    public Handle<T> insert(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element");
+        }
+
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+        Node<T> node = new Node<>(element);
+        heapifyUp(size++, node);
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public T findMin() {
+        if (size == 0) {
+            return null;
+        }
+
+        return nodes[0].value;
+    }
+
+    @Override
+    public T deleteMin() {
+        if (size == 0) {
+            return null;
+        }
+
+        Node<T> result = nodes[0];
+        removeAt(0);
+        return result.value;
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, T newValue) {
+        if (newValue == null) {
+            throw new IllegalArgumentException("newValue");
+        }
+        Node<T> node = node(handle);
+        if (comparator.compare(newValue, node.value) > 0) {
+            throw new IllegalArgumentException("New value is greater than the current one");
+        }
+        node.value = newValue;
+        heapifyUp(node.index, node);
+    }
+
+    @Override
+    public void remove(Handle<T> handle) {
+        removeAt(node(handle).index);
+    }
+
+    @Override
+    public boolean contains(Handle<T> handle) {
+        if (!(handle instanceof Node)) {
+            return false;
+        }
+        int index = ((Node<T>) handle).index;
+        return index >= 0 && index < size && nodes[index] == handle;
+    }
+
+    private Node<T> node(Handle<T> handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Handle does not belong to this heap");
+        }
+        return (Node<T>) handle;
+    }
+
+    private void removeAt(int index) {
+        nodes[index].index = -1;
+        size--;
+        Node<T> last = nodes[size];
+        nodes[size] = null;
+        if (index == size) {
+            return;
+        }
+        if (index > 0 && comparator.compare(last.value, nodes[(index - 1) >>> 1].value) < 0) {
+            heapifyUp(index, last);
+        } else {
+            heapifyDown(index, last);
+        }
+    }
+
+    private void heapifyUp(int index, Node<T> node) {
+        Node<T>[] nodes = this.nodes;
+        Comparator<T> comparator = this.comparator;
+        T value = node.value;
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            Node<T> parent = nodes[parentIndex];
+            if (comparator.compare(parent.value, value) <= 0) {
+                break;
+            }
+            nodes[index] = parent;
+            parent.index = index;
+            index = parentIndex;
+        }
+        nodes[index] = node;
+        node.index = index;
+    }
+
+    private void heapifyDown(int index, Node<T> node) {
+        Node<T>[] nodes = this.nodes;
+        Comparator<T> comparator = this.comparator;
+        T value = node.value;
+        int size = this.size;
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            Node<T> child = nodes[childIndex];
+            int rightChildIndex = childIndex + 1;
+            if (rightChildIndex < size && comparator.compare(child.value, nodes[rightChildIndex].value) > 0) {
+                childIndex = rightChildIndex;
+                child = nodes[childIndex];
+            }
+            if (comparator.compare(value, child.value) <= 0) {
+                break;
+            }
+            nodes[index] = child;
+            child.index = index;
+            index = childIndex;
+        }
+        nodes[index] = node;
+        node.index = index;
+    }
+
+    @Override
+    public String toString() {
+        String elements = Arrays.stream(nodes, 0, size)
+                .map(node -> node.value.toString())
+                .collect(Collectors.joining(", "));
+        return "AddressableBinaryHeap: [" + elements + "]";
+    }
+
+    private static final class Node<T> implements Handle<T> {
+        private T value;
+        private int index;
+
+        private Node(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+/**
+ * Priority queue whose elements can be reached after insertion through the {@link Handle} returned by
+ * {@link #insert(Object)}, so their priority can be changed in place instead of inserting duplicates.
+ *
+ * @author Ilya Murzinov
+ */
+public interface AddressablePriorityQueue<T> extends PriorityQueue<T> {
+
+    /**
+     * Same as {@link #add(Object)}, but returns a handle to the inserted element.
+     */
+    Handle<T> insert(T element);
+
+    /**
+     * Replaces the element behind {@code handle} with {@code newValue}, which must not be greater than it.
+     *
+     * @throws IllegalArgumentException if {@code newValue} is greater than the current element or {@code handle}
+     *                                  does not belong to this queue
+     */
+    void decreaseKey(Handle<T> handle, T newValue);
+
+    /**
+     * Removes the element behind {@code handle}.
+     *
+     * @throws IllegalArgumentException if {@code handle} does not belong to this queue
+     */
+    void remove(Handle<T> handle);
+
+    /**
+     * Returns whether the element behind {@code handle} is still in this queue.
+     */
+    boolean contains(Handle<T> handle);
+
+    interface Handle<T> {
+        T getValue();
+    }
+}
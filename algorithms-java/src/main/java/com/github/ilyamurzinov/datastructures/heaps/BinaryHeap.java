@@ -1,7 +1,17 @@
 package com.github.ilyamurzinov.datastructures.heaps;
 
+import com.github.ilyamurzinov.datastructures.io.Codec;
+import com.github.ilyamurzinov.datastructures.io.SnapshotReader;
+import com.github.ilyamurzinov.datastructures.io.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -11,22 +21,84 @@ public class BinaryHeap<T> implements PriorityQueue<T> {
 
     public static final int INITIAL_CAPACITY = 16;
 
+    private static final int SNAPSHOT_MAGIC = 0x42484150;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * Most elements a snapshot's backing array is allocated for before any of them has been read.
+     */
+    private static final int SNAPSHOT_CHUNK = 1 << 16;
+
     private final Comparator<T> comparator;
+    private final CapacityPolicy capacityPolicy;
 
     private T[] elements;
     private int size;
     private int capacity;
+    private long reallocations;
+    private long elementsCopied;
 
     public BinaryHeap() {
-        this(null);
+        this((Comparator<T>) null);
     }
 
-    @SuppressWarnings("unchecked")
     public BinaryHeap(Comparator<T> comparator) {
-        elements = (T[]) new Object[INITIAL_CAPACITY];
+        this(INITIAL_CAPACITY, comparator);
+    }
+
+    public BinaryHeap(Comparator<T> comparator, CapacityPolicy capacityPolicy) {
+        this(INITIAL_CAPACITY, comparator, capacityPolicy);
+    }
+
+    public BinaryHeap(int initialCapacity, Comparator<T> comparator) {
+        this(initialCapacity, comparator, CapacityPolicy.DEFAULT);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BinaryHeap(int initialCapacity, Comparator<T> comparator, CapacityPolicy capacityPolicy) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (capacityPolicy == null) {
+            throw new IllegalArgumentException("capacityPolicy");
+        }
+        elements = (T[]) new Object[initialCapacity];
+        this.size = 0;
+        this.capacity = initialCapacity;
+        this.comparator = Comparators.resolve(comparator);
+        this.capacityPolicy = capacityPolicy;
+    }
+
+    /**
+     * Wraps {@code array} without copying it; the elements become part of the heap once heapified. Only used to
+     * sort the array in place, which never resizes it, so the capacity policy does not matter.
+     */
+    private BinaryHeap(T[] array, Comparator<T> comparator) {
+        this.elements = array;
+        this.capacity = array.length;
         this.size = 0;
-        this.capacity = INITIAL_CAPACITY;
         this.comparator = comparator;
+        this.capacityPolicy = CapacityPolicy.DEFAULT;
+    }
+
+    public BinaryHeap(Collection<? extends T> elements, Comparator<T> comparator) {
+        this(elements, comparator, CapacityPolicy.DEFAULT);
+    }
+
+    /**
+     * Builds a heap of {@code elements} in linear time.
+     */
+    public BinaryHeap(Collection<? extends T> elements, Comparator<T> comparator, CapacityPolicy capacityPolicy) {
+        this(Math.max(INITIAL_CAPACITY, elements.size()), comparator, capacityPolicy);
+        addAll(elements);
+    }
+
+    /**
+     * Builds a heap of {@code elements} in linear time, using natural ordering. A factory rather than a
+     * constructor, since a single-argument constructor would make {@code new BinaryHeap<>(null)} ambiguous.
+     */
+    public static <T> BinaryHeap<T> of(Collection<? extends T> elements) {
+        return new BinaryHeap<>(elements, null);
     }
 
     @Override
@@ -35,11 +107,43 @@ public class BinaryHeap<T> implements PriorityQueue<T> {
             throw new IllegalArgumentException("element");
         }
 
+        ensureCapacity(size + 1);
         size++;
-        ensureCapacity();
 
-        elements[size - 1] = element;
-        heapifyUp(size - 1);
+        heapifyUp(size - 1, element);
+    }
+
+    /**
+     * Adds all {@code elements}, growing the backing array at most once. When the batch is at least as large as
+     * the heap, the whole array is rebuilt bottom-up in O(n), otherwise the new elements are sifted up one by one.
+     */
+    public void addAll(Collection<? extends T> elements) {
+        ensureCapacity(size + elements.size());
+        int end = size;
+        for (T element : elements) {
+            if (element == null) {
+                discard(end);
+                throw new IllegalArgumentException("element");
+            }
+            if (end == capacity) {
+                discard(end);
+                throw new ConcurrentModificationException();
+            }
+            this.elements[end++] = element;
+        }
+        heapify(end);
+    }
+
+    public void addAll(T[] elements) {
+        ensureCapacity(size + elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) {
+                discard(size + i);
+                throw new IllegalArgumentException("element");
+            }
+            this.elements[size + i] = elements[i];
+        }
+        heapify(size + elements.length);
     }
 
     @Override
@@ -47,6 +151,10 @@ public class BinaryHeap<T> implements PriorityQueue<T> {
         return size == 0;
     }
 
+    public int size() {
+        return size;
+    }
+
     @Override
     public T findMin() {
         if (size == 0) {
@@ -62,69 +170,239 @@ public class BinaryHeap<T> implements PriorityQueue<T> {
             return null;
         }
 
-        T result = elements[0];
+        T result = poll();
+        shrink();
+        return result;
+    }
 
-        swap(0, size - 1);
-        elements[size - 1] = null;
+    /**
+     * Drains the heap without shrinking the backing array on the way; it is shrunk once at the end.
+     */
+    @Override
+    public int drainTo(Consumer<? super T> consumer) {
+        int count = size;
+        while (size > 0) {
+            consumer.accept(poll());
+        }
+        shrink();
+        return count;
+    }
 
-        size--;
+    /**
+     * Same as {@link PriorityQueue#drainSorted}, but without shrinking the backing array on the way.
+     */
+    @Override
+    public int drainSorted(T[] out) {
+        int count = Math.min(size, out.length);
+        for (int i = 0; i < count; i++) {
+            out[i] = poll();
+        }
         shrink();
+        return count;
+    }
 
-        heapifyDown(0);
+    /**
+     * Shrinks the backing array to the number of elements, regardless of the capacity policy.
+     */
+    public void trimToSize() {
+        int newCapacity = Math.max(size, 1);
+        if (newCapacity < capacity) {
+            resize(newCapacity);
+        }
+    }
+
+    /**
+     * Returns how many times the backing array has been reallocated.
+     */
+    public long getReallocationCount() {
+        return reallocations;
+    }
+
+    /**
+     * Returns how many element references have been copied by reallocations of the backing array.
+     */
+    public long getCopiedElementCount() {
+        return elementsCopied;
+    }
+
+    /**
+     * Sorts {@code array} in place using natural ordering.
+     */
+    public static <T> void sort(T[] array) {
+        sort(array, null);
+    }
+
+    /**
+     * Sorts {@code array} in place with heapsort: the array is turned into a heap with the largest element on top
+     * in O(n), then the top is repeatedly moved into the free slot at the end of the shrinking heap.
+     */
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        BinaryHeap<T> heap = new BinaryHeap<>(array, Comparators.resolve(comparator).reversed());
+        heap.heapify(array.length);
+        for (int i = array.length - 1; i > 0; i--) {
+            T max = array[0];
+            heap.size = i;
+            heap.heapifyDown(0, array[i]);
+            array[i] = max;
+        }
+    }
 
+    /**
+     * Replaces the minimum with {@code element} and returns the old minimum, sifting once instead of the two
+     * sifts of deleteMin followed by add. On an empty heap it just adds {@code element} and returns {@code null}.
+     */
+    public T replaceMin(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element");
+        }
+        if (size == 0) {
+            add(element);
+            return null;
+        }
+
+        T result = elements[0];
+        heapifyDown(0, element);
         return result;
     }
 
-    private void heapifyUp(int index) {
-        if (index <= 0) {
-            return;
+    /**
+     * Writes the elements to {@code channel} in the order of the backing array.
+     */
+    public void writeSnapshot(WritableByteChannel channel, Codec<? super T> codec) throws IOException {
+        SnapshotWriter out = new SnapshotWriter(channel);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.write(codec, elements[i]);
         }
+        out.flush();
+    }
+
+    public static <T> BinaryHeap<T> readSnapshot(ReadableByteChannel channel, Codec<T> codec) throws IOException {
+        return readSnapshot(channel, codec, null);
+    }
 
-        int parentIndex = getParentIndex(index);
+    /**
+     * Restores a heap written by {@link #writeSnapshot} into a backing array of exactly its size. The array grows
+     * as elements arrive rather than being sized up front, so a corrupted size ends in an {@link IOException}
+     * instead of a huge allocation. The elements arrive in heap order, so the bottom-up pass that checks them
+     * against {@code comparator} moves nothing unless the heap was written with another ordering.
+     *
+     * @throws IOException if the stream ends early or is not a snapshot of a heap
+     */
+    public static <T> BinaryHeap<T> readSnapshot(ReadableByteChannel channel, Codec<T> codec,
+                                                 Comparator<T> comparator) throws IOException {
+        SnapshotReader in = new SnapshotReader(channel);
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a BinaryHeap snapshot");
+        }
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported BinaryHeap snapshot version " + version);
+        }
+        int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Corrupted BinaryHeap snapshot");
+        }
 
-        if (compare(elements[parentIndex], elements[index]) > 0) {
-            swap(parentIndex, index);
-            heapifyUp(parentIndex);
+        BinaryHeap<T> heap = new BinaryHeap<>(Math.max(Math.min(size, SNAPSHOT_CHUNK), 1), comparator);
+        for (int i = 0; i < size; i++) {
+            if (i == heap.capacity) {
+                heap.resize((int) Math.min(size, 2L * heap.capacity));
+            }
+            T element = in.read(codec);
+            if (element == null) {
+                throw new IOException("Corrupted BinaryHeap snapshot");
+            }
+            heap.elements[i] = element;
         }
+        heap.heapify(size);
+        return heap;
     }
 
-    private void heapifyDown(int index) {
-        int min = index;
-        int leftChildIndex = getLeftChildIndex(index);
-        int rightChildIndex = getRightChildIndex(index);
+    /**
+     * Returns a copy of the backing array's occupied part, in heap order.
+     */
+    Object[] toArray() {
+        return Arrays.copyOf(elements, size, Object[].class);
+    }
 
-        if (leftChildIndex < size && compare(elements[index], elements[leftChildIndex]) > 0) {
-            min = leftChildIndex;
+    /**
+     * Moves the hole at {@code index} up until {@code element} can be placed into it.
+     */
+    private void heapifyUp(int index, T element) {
+        T[] elements = this.elements;
+        Comparator<T> comparator = this.comparator;
+        while (index > 0) {
+            int parentIndex = getParentIndex(index);
+            T parent = elements[parentIndex];
+            if (comparator.compare(parent, element) <= 0) {
+                break;
+            }
+            elements[index] = parent;
+            index = parentIndex;
         }
+        elements[index] = element;
+    }
 
-        if (rightChildIndex < size && compare(elements[index], elements[rightChildIndex]) > 0
-                && compare(elements[leftChildIndex], elements[rightChildIndex]) > 0) {
-            min = rightChildIndex;
+    /**
+     * Moves the hole at {@code index} down until {@code element} can be placed into it.
+     */
+    private void heapifyDown(int index, T element) {
+        T[] elements = this.elements;
+        Comparator<T> comparator = this.comparator;
+        int size = this.size;
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = getLeftChildIndex(index);
+            T child = elements[childIndex];
+            int rightChildIndex = childIndex + 1;
+            if (rightChildIndex < size && comparator.compare(child, elements[rightChildIndex]) > 0) {
+                childIndex = rightChildIndex;
+                child = elements[childIndex];
+            }
+            if (comparator.compare(element, child) <= 0) {
+                break;
+            }
+            elements[index] = child;
+            index = childIndex;
         }
+        elements[index] = element;
+    }
 
-        if (min != index) {
-            swap(min, index);
-            heapifyDown(min);
+    /**
+     * Removes the minimum of a non-empty heap, leaving the backing array as it is.
+     */
+    private T poll() {
+        T result = elements[0];
+        size--;
+        T last = elements[size];
+        elements[size] = null;
+        if (size > 0) {
+            heapifyDown(0, last);
         }
+        return result;
     }
 
-    private int compare(T element1, T element2) {
-        if (comparator != null) {
-            return comparator.compare(element1, element2);
+    /**
+     * Turns the elements appended at {@code [size, end)} into part of the heap.
+     */
+    private void heapify(int end) {
+        if (end - size >= size) {
+            size = end;
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                heapifyDown(i, elements[i]);
+            }
         } else {
-            try {
-                return ((Comparable<T>) element1).compareTo(element2);
-            } catch (ClassCastException e) {
-                throw new IllegalArgumentException(
-                        "Cannot compare instances of non-comparable class without comparator");
+            while (size < end) {
+                heapifyUp(size, elements[size++]);
             }
         }
     }
 
-    private void swap(int index1, int index2) {
-        T tmp = elements[index1];
-        elements[index1] = elements[index2];
-        elements[index2] = tmp;
+    private void discard(int end) {
+        Arrays.fill(elements, size, end, null);
     }
 
     private int getParentIndex(int childIndex) {
@@ -135,30 +413,30 @@ public class BinaryHeap<T> implements PriorityQueue<T> {
         return 2 * parentIndex + 1;
     }
 
-    private int getRightChildIndex(int parentIndex) {
-        return 2 * parentIndex + 2;
-    }
-
-    @SuppressWarnings("unchecked")
-    private void ensureCapacity() {
-        if (size == capacity) {
-            T[] tmp = elements;
-            capacity = size * 2;
-            elements = (T[]) new Object[capacity];
-            System.arraycopy(tmp, 0, elements, 0, size);
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            resize(capacityPolicy.grow(capacity, minCapacity));
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void shrink() {
-        if (capacity > INITIAL_CAPACITY && ((double) size) / capacity < 0.25) {
-            T[] tmp = elements;
-            capacity = capacity / 2;
-            elements = (T[]) new Object[capacity];
-            System.arraycopy(tmp, 0, elements, 0, capacity);
+        int newCapacity = capacity;
+        int next;
+        while ((next = Math.max(capacityPolicy.shrink(newCapacity, size), size)) < newCapacity) {
+            newCapacity = next;
+        }
+        if (newCapacity < capacity) {
+            resize(newCapacity);
         }
     }
 
+    private void resize(int newCapacity) {
+        elements = Arrays.copyOf(elements, newCapacity);
+        capacity = newCapacity;
+        reallocations++;
+        elementsCopied += size;
+    }
+
     @Override
     public String toString() {
         String elements = Arrays.asList(this.elements)
@@ -1,32 +1,44 @@
 package com.github.ilyamurzinov.datastructures.heaps;
 
-import com.github.ilyamurzinov.datastructures.trees.BinomialTree;
+import com.github.ilyamurzinov.datastructures.trees.MutableBinomialTree;
 
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
 
 /**
+ * Binomial heap whose roots are kept in an array indexed by degree, so adding a tree works like incrementing a
+ * binary counter and the minimum root is tracked by its index. Trees are linked in place, so neither adding nor
+ * deleting elements allocates anything but the node of a new element.
+ *
  * @author Ilya Murzinov
  */
 public class BinomialHeap<T> implements PriorityQueue<T> {
 
+    /**
+     * Below this many elements a task builds its heap sequentially.
+     */
+    private static final int MIN_PARALLEL_CHUNK = 1 << 13;
+
+    /**
+     * A heap of {@code n} elements has trees of degree at most {@code log2(n)}, which fits an int size.
+     */
+    private static final int MAX_DEGREE = Integer.SIZE;
+
     private final Comparator<T> comparator;
-    private LinkedList<BinomialTree<T>> trees;
+    private final MutableBinomialTree<T>[] roots;
+    private int minIndex = -1;
 
     public BinomialHeap() {
         this(null);
     }
 
+    @SuppressWarnings("unchecked")
     public BinomialHeap(Comparator<T> comparator) {
-        this(comparator, new LinkedList<>());
-    }
-
-    private BinomialHeap(Comparator<T> comparator, LinkedList<BinomialTree<T>> trees) {
-        this.comparator = comparator;
-        this.trees = new LinkedList<>(trees);
+        this.comparator = Comparators.resolve(comparator);
+        this.roots = (MutableBinomialTree<T>[]) new MutableBinomialTree<?>[MAX_DEGREE];
     }
 
     @Override
@@ -35,143 +47,185 @@ public class BinomialHeap<T> implements PriorityQueue<T> {
             throw new IllegalArgumentException("element");
         }
 
-        LinkedList<BinomialTree<T>> list = new LinkedList<>();
-        list.add(new BinomialTree<>(element));
-        trees = merge(trees, list);
+        meld(new MutableBinomialTree<>(element));
     }
 
     @Override
     public boolean isEmpty() {
-        return trees.isEmpty();
+        return minIndex < 0;
     }
 
     @Override
     public T findMin() {
-        return findMinTree().<T>map(BinomialTree::getRootValue).orElse(null);
+        return minIndex < 0 ? null : roots[minIndex].getRootValue();
     }
 
     @Override
     public T deleteMin() {
-        Optional<BinomialTree<T>> minTree = findMinTree();
+        if (minIndex < 0) {
+            return null;
+        }
 
-        return minTree.map(tree -> {
-            trees.remove(tree);
-            trees = merge(trees, tree.deleteRoot());
-            return tree.getRootValue();
-        }).orElse(null);
+        MutableBinomialTree<T> tree = roots[minIndex];
+        roots[minIndex] = null;
+        updateMinIndex();
+        MutableBinomialTree<T> child;
+        while ((child = tree.removeFirstChild()) != null) {
+            meld(child);
+        }
+        return tree.getRootValue();
     }
 
+    /**
+     * Returns a new heap holding the elements of both heaps; neither this heap nor {@code that} is changed.
+     */
     public BinomialHeap<T> merge(BinomialHeap<T> that) {
-        return new BinomialHeap<>(comparator, merge(trees, that.trees));
+        return copy().meld(that.copy());
     }
 
-    @SuppressWarnings("unchecked")
-    private int compare(T element1, T element2) {
-        if (comparator != null) {
-            return comparator.compare(element1, element2);
+    /**
+     * Moves all elements of {@code that} into this heap and returns this heap; {@code that} is left empty.
+     * Unlike {@link #merge}, no trees are copied.
+     */
+    public BinomialHeap<T> meld(BinomialHeap<T> that) {
+        if (that == this) {
+            throw new IllegalArgumentException("Can not meld heap with itself");
         }
 
-        try {
-            return ((Comparable<T>) element1).compareTo(element2);
-        } catch (ClassCastException e) {
-            throw new IllegalArgumentException(
-                    "Cannot compare instances of non-comparable class without comparator");
+        for (int i = 0; i < MAX_DEGREE; i++) {
+            MutableBinomialTree<T> tree = that.roots[i];
+            if (tree != null) {
+                that.roots[i] = null;
+                meld(tree);
+            }
         }
+        that.minIndex = -1;
+        return this;
     }
 
-    private Optional<BinomialTree<T>> findMinTree() {
-        return trees.stream().min((o1, o2) -> compare(o1.getRootValue(), o2.getRootValue()));
+    public static <T> BinomialHeap<T> parallelFrom(Collection<? extends T> elements, ForkJoinPool pool) {
+        return parallelFrom(elements, null, pool);
     }
 
-    private LinkedList<BinomialTree<T>> merge(LinkedList<BinomialTree<T>> thisTrees, LinkedList<BinomialTree<T>> thatTrees) {
-        LinkedList<BinomialTree<T>> trees = new LinkedList<>();
+    /**
+     * Builds a heap of {@code elements} in {@code pool}: chunks of the collection are loaded into separate heaps,
+     * which are then melded pairwise up the task tree.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BinomialHeap<T> parallelFrom(Collection<? extends T> elements, Comparator<T> comparator,
+                                                   ForkJoinPool pool) {
+        Object[] array = elements.toArray();
+        int chunk = Math.max(MIN_PARALLEL_CHUNK, array.length / (pool.getParallelism() * 4));
+        return pool.invoke(new BuildTask<>((T[]) array, 0, array.length, chunk, comparator));
+    }
 
-        if (thisTrees.isEmpty()) {
-            trees = thatTrees;
-        } else if (thatTrees.isEmpty()) {
-            trees = thisTrees;
-        } else {
-            Iterator<BinomialTree<T>> thisIterator = thisTrees.iterator();
-            Iterator<BinomialTree<T>> thatIterator = thatTrees.iterator();
+    /**
+     * Collects a stream into a heap; partial heaps of a parallel stream are melded.
+     */
+    public static <T> Collector<T, ?, BinomialHeap<T>> collector() {
+        return collector(null);
+    }
 
-            BinomialTree<T> thisCurrentTree = null;
-            BinomialTree<T> thatCurrentTree = null;
+    public static <T> Collector<T, ?, BinomialHeap<T>> collector(Comparator<T> comparator) {
+        return Collector.of(
+                () -> new BinomialHeap<>(comparator),
+                BinomialHeap::add,
+                BinomialHeap::meld,
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
 
-            while (true) {
-                if (thisCurrentTree == null && !thisIterator.hasNext()) {
-                    break;
-                } else if (thisCurrentTree == null) {
-                    thisCurrentTree = thisIterator.next();
-                }
-                if (thatCurrentTree == null && !thatIterator.hasNext()) {
-                    break;
-                } else if (thatCurrentTree == null) {
-                    thatCurrentTree = thatIterator.next();
-                }
+    /**
+     * Adds {@code tree} to the roots, linking it with the existing tree of the same degree as long as there is one.
+     */
+    private void meld(MutableBinomialTree<T> tree) {
+        int degree = tree.getDegree();
+        while (roots[degree] != null) {
+            tree = link(roots[degree], tree);
+            roots[degree++] = null;
+        }
+        roots[degree] = tree;
 
-                if (thisCurrentTree.getDegree() > thatCurrentTree.getDegree()) {
-                    trees.add(thatCurrentTree);
-                    thatCurrentTree = null;
-                } else if (thisCurrentTree.getDegree() < thatCurrentTree.getDegree()) {
-                    trees.add(thisCurrentTree);
-                    thisCurrentTree = null;
-                } else {
-                    if (compare(thisCurrentTree.getRootValue(), thatCurrentTree.getRootValue()) < 0) {
-                        trees.add(thisCurrentTree.merge(thatCurrentTree));
-                    } else {
-                        trees.add(thatCurrentTree.merge(thisCurrentTree));
-                    }
-                    thatCurrentTree = null;
-                    thisCurrentTree = null;
-                }
-            }
+        if (minIndex < 0 || roots[minIndex] == null
+                || comparator.compare(tree.getRootValue(), roots[minIndex].getRootValue()) < 0) {
+            // a consumed minimum tree is now part of the new one, whose root is no greater
+            minIndex = degree;
+        }
+    }
 
-            if (thatCurrentTree != null) {
-                trees.add(thatCurrentTree);
-            }
-            if (thisCurrentTree != null) {
-                trees.add(thisCurrentTree);
+    private BinomialHeap<T> copy() {
+        BinomialHeap<T> result = new BinomialHeap<>(comparator);
+        for (int i = 0; i < MAX_DEGREE; i++) {
+            if (roots[i] != null) {
+                result.roots[i] = roots[i].copy();
             }
+        }
+        result.minIndex = minIndex;
+        return result;
+    }
 
-            while (thisIterator.hasNext()) {
-                trees.add(thisIterator.next());
-            }
+    private MutableBinomialTree<T> link(MutableBinomialTree<T> existing, MutableBinomialTree<T> added) {
+        return comparator.compare(existing.getRootValue(), added.getRootValue()) <= 0
+                ? existing.link(added)
+                : added.link(existing);
+    }
 
-            while (thatIterator.hasNext()) {
-                trees.add(thatIterator.next());
+    private void updateMinIndex() {
+        minIndex = -1;
+        for (int i = 0; i < MAX_DEGREE; i++) {
+            MutableBinomialTree<T> tree = roots[i];
+            if (tree != null
+                    && (minIndex < 0 || comparator.compare(tree.getRootValue(), roots[minIndex].getRootValue()) < 0)) {
+                minIndex = i;
             }
         }
-
-        return mergeTreesOfSameDegree(trees);
     }
 
-    @SuppressWarnings("unchecked")
-    private LinkedList<BinomialTree<T>> mergeTreesOfSameDegree(LinkedList<BinomialTree<T>> trees) {
-        for (int i = 0; i < trees.size() - 1; i++) {
-            BinomialTree<T> current = trees.get(i);
-            BinomialTree<T> next = trees.get(i + 1);
-            if (current.getDegree() == next.getDegree()) {
-                if (compare(current.getRootValue(), next.getRootValue()) < 0) {
-                    trees.set(i + 1, current.merge(next));
-                } else {
-                    trees.set(i + 1, next.merge(current));
+    private static final class BuildTask<T> extends RecursiveTask<BinomialHeap<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] elements;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final Comparator<T> comparator;
+
+        private BuildTask(T[] elements, int from, int to, int chunk, Comparator<T> comparator) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected BinomialHeap<T> compute() {
+            if (to - from <= chunk) {
+                BinomialHeap<T> heap = new BinomialHeap<>(comparator);
+                for (int i = from; i < to; i++) {
+                    heap.add(elements[i]);
                 }
-                trees.set(i, null);
+                return heap;
             }
-        }
 
-        return trees.stream().filter(tree -> tree != null).collect(Collectors.toCollection(LinkedList::new));
+            int middle = (from + to) >>> 1;
+            BuildTask<T> left = new BuildTask<>(elements, from, middle, chunk, comparator);
+            left.fork();
+            BinomialHeap<T> right = new BuildTask<>(elements, middle, to, chunk, comparator).compute();
+            return left.join().meld(right);
+        }
     }
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder("BinomialHeap[trees (size: ");
-        result.append(trees.size()).append("): ");
-        for (BinomialTree<T> tree : trees) {
-            result.append(tree.toString()).append(", ");
+        StringBuilder trees = new StringBuilder();
+        int count = 0;
+        for (MutableBinomialTree<T> tree : roots) {
+            if (tree != null) {
+                trees.append(", ").append(tree.toString());
+                count++;
+            }
         }
-        result.delete(result.length() - 2, result.length());
-        result.append("]");
-        return result.toString();
+        return "BinomialHeap[trees (size: " + count + (count == 0 ? "" : "): " + trees.substring(2)) + "]";
     }
 }
@@ -0,0 +1,45 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+/**
+ * Decides how an array-backed heap resizes its backing array.
+ *
+ * @author Ilya Murzinov
+ */
+public interface CapacityPolicy {
+
+    /**
+     * Doubles when full, halves when less than a quarter full, never goes below 16 slots.
+     */
+    CapacityPolicy DEFAULT = geometric(2, 16, 0.25, 0.5);
+
+    /**
+     * Grows like {@link #DEFAULT} but never shrinks on its own, leaving it to an explicit trim (e.g. when idle).
+     */
+    CapacityPolicy NO_AUTO_SHRINK = geometric(2, 16, 0, 0.5);
+
+    /**
+     * Returns the new capacity for an array of {@code capacity} slots that has to hold {@code required} elements;
+     * must be at least {@code required}.
+     */
+    int grow(int capacity, int required);
+
+    /**
+     * Returns the capacity to keep for an array of {@code capacity} slots holding {@code size} elements;
+     * {@code capacity} itself means no change. After removing many elements at once a heap asks again with the
+     * returned capacity until it stops changing, and reallocates only once.
+     */
+    int shrink(int capacity, int size);
+
+    /**
+     * Returns a policy that grows by {@code growthFactor}, and once occupancy drops below {@code shrinkOccupancy}
+     * shrinks by the same factor, but not so far that occupancy exceeds {@code targetOccupancy}, and never below
+     * {@code minimumCapacity}. Capacities that start as a power of two thus stay powers of two when the factor is 2.
+     * The gap between the two occupancies is the hysteresis: after a shrink the heap has to lose a large share of
+     * its elements again before the next one, and to grow back to full before it is reallocated upwards.
+     * A {@code shrinkOccupancy} of {@code 0} disables shrinking.
+     */
+    static CapacityPolicy geometric(double growthFactor, int minimumCapacity, double shrinkOccupancy,
+                                    double targetOccupancy) {
+        return new GeometricCapacityPolicy(growthFactor, minimumCapacity, shrinkOccupancy, targetOccupancy);
+    }
+}
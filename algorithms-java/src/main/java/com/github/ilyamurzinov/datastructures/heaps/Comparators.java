@@ -0,0 +1,33 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Comparator;
+
+/**
+ * @author Ilya Murzinov
+ */
+final class Comparators {
+
+    private static final Comparator<Object> NATURAL_ORDER = Comparators::compareNaturally;
+
+    private Comparators() {
+    }
+
+    /**
+     * Returns {@code comparator} or, if it is {@code null}, natural ordering, so heaps can resolve the ordering
+     * once at construction instead of on every comparison.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<T> resolve(Comparator<T> comparator) {
+        return comparator != null ? comparator : (Comparator<T>) NATURAL_ORDER;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareNaturally(Object element1, Object element2) {
+        try {
+            return ((Comparable<Object>) element1).compareTo(element2);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException(
+                    "Cannot compare instances of non-comparable class without comparator");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * Implicit heap where every node has up to {@code arity} children, stored contiguously at
+ * {@code arity * i + 1 .. arity * i + arity}. A wider node makes the heap shallower, so deleteMin touches fewer
+ * levels at the cost of more comparisons per level, most of which fall into the same cache line.
+ *
+ * @author Ilya Murzinov
+ */
+public class DaryHeap<T> implements PriorityQueue<T> {
+
+    public static final int INITIAL_CAPACITY = 16;
+    public static final int DEFAULT_ARITY = 4;
+
+    private final Comparator<T> comparator;
+    private final int arity;
+
+    private T[] elements;
+    private int size;
+
+    public DaryHeap() {
+        this(DEFAULT_ARITY, null);
+    }
+
+    public DaryHeap(int arity) {
+        this(arity, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public DaryHeap(int arity, Comparator<T> comparator) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        this.comparator = Comparators.resolve(comparator);
+        this.elements = (T[]) new Object[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element");
+        }
+
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        heapifyUp(size++, element);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public T findMin() {
+        if (size == 0) {
+            return null;
+        }
+
+        return elements[0];
+    }
+
+    @Override
+    public T deleteMin() {
+        if (size == 0) {
+            return null;
+        }
+
+        T result = elements[0];
+
+        size--;
+        T last = elements[size];
+        elements[size] = null;
+        if (size > 0) {
+            heapifyDown(0, last);
+        }
+
+        if (elements.length > INITIAL_CAPACITY && size < elements.length / 4) {
+            elements = Arrays.copyOf(elements, elements.length / 2);
+        }
+
+        return result;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    private void heapifyUp(int index, T element) {
+        T[] elements = this.elements;
+        Comparator<T> comparator = this.comparator;
+        while (index > 0) {
+            int parentIndex = (index - 1) / arity;
+            T parent = elements[parentIndex];
+            if (comparator.compare(parent, element) <= 0) {
+                break;
+            }
+            elements[index] = parent;
+            index = parentIndex;
+        }
+        elements[index] = element;
+    }
+
+    private void heapifyDown(int index, T element) {
+        T[] elements = this.elements;
+        Comparator<T> comparator = this.comparator;
+        int size = this.size;
+        int firstChildIndex;
+        while ((firstChildIndex = arity * index + 1) < size) {
+            int lastChildIndex = Math.min(firstChildIndex + arity, size);
+            int minIndex = firstChildIndex;
+            T min = elements[firstChildIndex];
+            for (int i = firstChildIndex + 1; i < lastChildIndex; i++) {
+                if (comparator.compare(elements[i], min) < 0) {
+                    minIndex = i;
+                    min = elements[i];
+                }
+            }
+            if (comparator.compare(element, min) <= 0) {
+                break;
+            }
+            elements[index] = min;
+            index = minIndex;
+        }
+        elements[index] = element;
+    }
+
+    @Override
+    public String toString() {
+        String elements = Arrays.stream(this.elements, 0, size)
+                .map(Object::toString)
+                .collect(Collectors.joining(", "));
+        return "DaryHeap: [" + elements + "]";
+    }
+}
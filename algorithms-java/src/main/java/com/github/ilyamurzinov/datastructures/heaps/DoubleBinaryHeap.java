@@ -0,0 +1,169 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of {@code double} keys stored in a {@code double[]}, optionally carrying an {@code int} payload
+ * per key (e.g. an index into caller-owned arrays). Keys are compared directly, so adding and removing never
+ * allocates once the arrays have grown. The payload array is only allocated by the first
+ * {@link #add(double, int)}; keys added without a payload carry {@code 0}. {@code NaN} keys are rejected,
+ * since they have no place in the ordering.
+ *
+ * @author Ilya Murzinov
+ */
+public class DoubleBinaryHeap extends PrimitiveBinaryHeap {
+
+    public static final int INITIAL_CAPACITY = 16;
+
+    private double[] keys;
+
+    public DoubleBinaryHeap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public DoubleBinaryHeap(int initialCapacity) {
+        keys = new double[checkInitialCapacity(initialCapacity)];
+    }
+
+    public void add(double key) {
+        checkKey(key);
+        ensureCapacity();
+        if (payloads == null) {
+            heapifyUp(size++, key);
+        } else {
+            heapifyUp(size++, key, 0);
+        }
+    }
+
+    public void add(double key, int payload) {
+        checkKey(key);
+        ensureCapacity();
+        ensurePayloads();
+        heapifyUp(size++, key, payload);
+    }
+
+    /**
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double findMin() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Removes the minimum key; read its payload with {@link #findMinPayload()} first if needed.
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double deleteMin() {
+        checkNotEmpty();
+        double result = keys[0];
+        size--;
+        if (size > 0) {
+            if (payloads == null) {
+                heapifyDown(0, keys[size]);
+            } else {
+                heapifyDown(0, keys[size], payloads[size]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    void appendKey(StringBuilder sb, int index) {
+        sb.append(keys[index]);
+    }
+
+    private void heapifyUp(int index, double key) {
+        double[] keys = this.keys;
+        while (index > 0) {
+            int parentIndex = parentIndex(index);
+            double parent = keys[parentIndex];
+            if (parent <= key) {
+                break;
+            }
+            keys[index] = parent;
+            index = parentIndex;
+        }
+        keys[index] = key;
+    }
+
+    private void heapifyUp(int index, double key, int payload) {
+        double[] keys = this.keys;
+        int[] payloads = this.payloads;
+        while (index > 0) {
+            int parentIndex = parentIndex(index);
+            double parent = keys[parentIndex];
+            if (parent <= key) {
+                break;
+            }
+            keys[index] = parent;
+            payloads[index] = payloads[parentIndex];
+            index = parentIndex;
+        }
+        keys[index] = key;
+        payloads[index] = payload;
+    }
+
+    private void heapifyDown(int index, double key) {
+        double[] keys = this.keys;
+        int size = this.size;
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = leftChildIndex(index);
+            double child = keys[childIndex];
+            int rightChildIndex = childIndex + 1;
+            if (rightChildIndex < size && keys[rightChildIndex] < child) {
+                childIndex = rightChildIndex;
+                child = keys[childIndex];
+            }
+            if (key <= child) {
+                break;
+            }
+            keys[index] = child;
+            index = childIndex;
+        }
+        keys[index] = key;
+    }
+
+    private void heapifyDown(int index, double key, int payload) {
+        double[] keys = this.keys;
+        int[] payloads = this.payloads;
+        int size = this.size;
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = leftChildIndex(index);
+            double child = keys[childIndex];
+            int rightChildIndex = childIndex + 1;
+            if (rightChildIndex < size && keys[rightChildIndex] < child) {
+                childIndex = rightChildIndex;
+                child = keys[childIndex];
+            }
+            if (key <= child) {
+                break;
+            }
+            keys[index] = child;
+            payloads[index] = payloads[childIndex];
+            index = childIndex;
+        }
+        keys[index] = key;
+        payloads[index] = payload;
+    }
+
+    private static void checkKey(double key) {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("key");
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Comparator;
+
+/**
+ * Fibonacci heap: add, meld and decreaseKey are O(1) amortized, deleteMin and remove are O(log n) amortized.
+ * Roots and siblings are kept in circular doubly linked lists, and trees are consolidated by degree only on
+ * deleteMin.
+ *
+ * @author Ilya Murzinov
+ */
+public class FibonacciHeap<T> implements AddressablePriorityQueue<T> {
+
+    /**
+     * A tree of degree {@code d} holds at least {@code F(d + 2)} nodes, so an int-sized heap has degrees below 45.
+     */
+    private static final int MAX_DEGREE = 48;
+
+    private final Comparator<T> comparator;
+
+    private Owner owner = new Owner();
+    private Node<T> min;
+    private int size;
+    private Node<T>[] degrees;
+
+    public FibonacciHeap() {
+        this(null);
+    }
+
+    public FibonacciHeap(Comparator<T> comparator) {
+        this.comparator = Comparators.resolve(comparator);
+    }
+
+    @Override
+    public void add(T element) {
+        insert(element);
+    }
+
+    @Override
+    public Handle<T> insert(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element");
+        }
+
+        Node<T> node = new Node<>(element, owner);
+        addRoot(node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return min == null;
+    }
+
+    @Override
+    public T findMin() {
+        return min == null ? null : min.value;
+    }
+
+    @Override
+    public T deleteMin() {
+        if (min == null) {
+            return null;
+        }
+
+        Node<T> result = min;
+        Node<T> child = result.child;
+        if (child != null) {
+            Node<T> current = child;
+            do {
+                current.parent = null;
+                current.marked = false;
+                current = current.right;
+            } while (current != child);
+            splice(result, child);
+            result.child = null;
+        }
+
+        if (result.right == result) {
+            min = null;
+        } else {
+            min = result.right;
+            unlink(result);
+            consolidate();
+        }
+        result.left = result;
+        result.right = result;
+        result.owner = null;
+        size--;
+        return result.value;
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, T newValue) {
+        if (newValue == null) {
+            throw new IllegalArgumentException("newValue");
+        }
+        Node<T> node = node(handle);
+        if (comparator.compare(newValue, node.value) > 0) {
+            throw new IllegalArgumentException("New value is greater than the current one");
+        }
+        node.value = newValue;
+        Node<T> parent = node.parent;
+        if (parent != null && comparator.compare(newValue, parent.value) < 0) {
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+        if (comparator.compare(newValue, min.value) < 0) {
+            min = node;
+        }
+    }
+
+    @Override
+    public void remove(Handle<T> handle) {
+        Node<T> node = node(handle);
+        Node<T> parent = node.parent;
+        if (parent != null) {
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+        min = node;
+        deleteMin();
+    }
+
+    @Override
+    public boolean contains(Handle<T> handle) {
+        if (!(handle instanceof Node)) {
+            return false;
+        }
+        Node<T> node = (Node<T>) handle;
+        if (node.owner == null) {
+            return false;
+        }
+        node.owner = node.owner.resolve();
+        return node.owner == owner;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves all elements of {@code that} into this heap and returns this heap; {@code that} is left empty.
+     * Handles obtained from {@code that} stay valid for this heap. There is no non-destructive merge: a copy would
+     * hold new nodes, and handles into either heap could not address it.
+     */
+    public FibonacciHeap<T> meld(FibonacciHeap<T> that) {
+        if (that == this) {
+            throw new IllegalArgumentException("Can not meld heap with itself");
+        }
+
+        if (that.min != null) {
+            if (min == null) {
+                min = that.min;
+            } else {
+                splice(min, that.min);
+                if (comparator.compare(that.min.value, min.value) < 0) {
+                    min = that.min;
+                }
+            }
+        }
+        size += that.size;
+        that.owner.forwardTo(owner);
+        that.owner = new Owner();
+        that.min = null;
+        that.size = 0;
+        return this;
+    }
+
+    private Node<T> node(Handle<T> handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Handle does not belong to this heap");
+        }
+        return (Node<T>) handle;
+    }
+
+    private void addRoot(Node<T> node) {
+        if (min == null) {
+            min = node;
+        } else {
+            splice(min, node);
+            if (comparator.compare(node.value, min.value) < 0) {
+                min = node;
+            }
+        }
+    }
+
+    /**
+     * Links trees of equal degree until all roots have distinct degrees, then picks the new minimum.
+     */
+    @SuppressWarnings("unchecked")
+    private void consolidate() {
+        if (degrees == null) {
+            degrees = (Node<T>[]) new Node<?>[MAX_DEGREE];
+        }
+
+        int roots = 0;
+        Node<T> current = min;
+        do {
+            roots++;
+            current = current.right;
+        } while (current != min);
+
+        for (int i = 0; i < roots; i++) {
+            Node<T> next = current.right;
+            Node<T> tree = current;
+            int degree = tree.degree;
+            Node<T> other;
+            while ((other = degrees[degree]) != null) {
+                degrees[degree++] = null;
+                if (comparator.compare(other.value, tree.value) < 0) {
+                    Node<T> tmp = tree;
+                    tree = other;
+                    other = tmp;
+                }
+                unlink(other);
+                other.parent = tree;
+                other.marked = false;
+                if (tree.child == null) {
+                    tree.child = other;
+                } else {
+                    splice(tree.child, other);
+                }
+                tree.degree++;
+            }
+            degrees[degree] = tree;
+            current = next;
+        }
+
+        min = null;
+        for (int i = 0; i < MAX_DEGREE; i++) {
+            Node<T> tree = degrees[i];
+            if (tree != null) {
+                degrees[i] = null;
+                if (min == null || comparator.compare(tree.value, min.value) < 0) {
+                    min = tree;
+                }
+            }
+        }
+    }
+
+    private void cut(Node<T> node, Node<T> parent) {
+        if (node.right == node) {
+            parent.child = null;
+        } else {
+            if (parent.child == node) {
+                parent.child = node.right;
+            }
+            unlink(node);
+        }
+        parent.degree--;
+        node.parent = null;
+        node.marked = false;
+        splice(min, node);
+    }
+
+    private void cascadingCut(Node<T> node) {
+        Node<T> parent;
+        while ((parent = node.parent) != null) {
+            if (!node.marked) {
+                node.marked = true;
+                return;
+            }
+            cut(node, parent);
+            node = parent;
+        }
+    }
+
+    /**
+     * Joins two circular lists into one.
+     */
+    private static <T> void splice(Node<T> a, Node<T> b) {
+        Node<T> aRight = a.right;
+        Node<T> bLeft = b.left;
+        a.right = b;
+        b.left = a;
+        aRight.left = bLeft;
+        bLeft.right = aRight;
+    }
+
+    private static <T> void unlink(Node<T> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node;
+        node.right = node;
+    }
+
+    @Override
+    public String toString() {
+        return "FibonacciHeap[size: " + size + ", min: " + findMin() + "]";
+    }
+
+    private static final class Node<T> implements Handle<T> {
+        private T value;
+        private Owner owner;
+        private Node<T> parent;
+        private Node<T> child;
+        private Node<T> left = this;
+        private Node<T> right = this;
+        private int degree;
+        private boolean marked;
+
+        private Node(T value, Owner owner) {
+            this.value = value;
+            this.owner = owner;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+/**
+ * @author Ilya Murzinov
+ */
+final class GeometricCapacityPolicy implements CapacityPolicy {
+
+    /**
+     * Some VMs reserve header words in arrays, so larger arrays may fail to allocate.
+     */
+    private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final double growthFactor;
+    private final int minimumCapacity;
+    private final double shrinkOccupancy;
+    private final double targetOccupancy;
+
+    GeometricCapacityPolicy(double growthFactor, int minimumCapacity, double shrinkOccupancy,
+                            double targetOccupancy) {
+        if (!(growthFactor > 1)) {
+            throw new IllegalArgumentException("Growth factor must be greater than 1");
+        }
+        if (minimumCapacity < 1) {
+            throw new IllegalArgumentException("Minimum capacity must be positive");
+        }
+        if (!(targetOccupancy > 0 && targetOccupancy <= 1)) {
+            throw new IllegalArgumentException("Target occupancy must be in (0, 1]");
+        }
+        if (!(shrinkOccupancy >= 0 && shrinkOccupancy < targetOccupancy)) {
+            throw new IllegalArgumentException("Shrink occupancy must be in [0, target occupancy)");
+        }
+        this.growthFactor = growthFactor;
+        this.minimumCapacity = minimumCapacity;
+        this.shrinkOccupancy = shrinkOccupancy;
+        this.targetOccupancy = targetOccupancy;
+    }
+
+    @Override
+    public int grow(int capacity, int required) {
+        long grown = Math.max((long) (capacity * growthFactor), capacity + 1L);
+        return (int) Math.max(required, Math.max(minimumCapacity, Math.min(grown, MAXIMUM_CAPACITY)));
+    }
+
+    @Override
+    public int shrink(int capacity, int size) {
+        if (capacity <= minimumCapacity || size >= capacity * shrinkOccupancy) {
+            return capacity;
+        }
+        long target = Math.max((long) (capacity / growthFactor), (long) Math.ceil(size / targetOccupancy));
+        return (int) Math.min(capacity, Math.max(minimumCapacity, target));
+    }
+
+    @Override
+    public String toString() {
+        return "CapacityPolicy[growthFactor: " + growthFactor + ", minimumCapacity: " + minimumCapacity
+                + ", shrinkOccupancy: " + shrinkOccupancy + ", targetOccupancy: " + targetOccupancy + "]";
+    }
+}
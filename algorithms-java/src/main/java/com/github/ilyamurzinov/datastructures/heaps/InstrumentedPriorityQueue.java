@@ -0,0 +1,231 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Decorator of a {@link PriorityQueue} that records latency histograms of {@code add} and {@code deleteMin},
+ * the number of comparisons and the size with its high-water mark. Latency is measured for one operation in
+ * every {@code samplingInterval} of each kind, which keeps the cost of {@link System#nanoTime()} off most
+ * operations; each sampled operation is also emitted as a Flight Recorder event when the library was built
+ * with the {@code jfr} profile (JDK 11 and later), {@code jdk.jfr} is available and the event is enabled.
+ * Comparisons are only counted when the decorator creates the queue with its comparator. Not thread-safe.
+ *
+ * @author Ilya Murzinov
+ */
+public class InstrumentedPriorityQueue<T> implements PriorityQueue<T> {
+    public static final int DEFAULT_SAMPLING_INTERVAL = 16;
+
+    /**
+     * {@code PriorityQueueEvent.emit}, or {@code null} if the event was not built or {@code jdk.jfr} is missing.
+     */
+    private static final MethodHandle EMIT_EVENT = findEventEmitter();
+
+    private final PriorityQueue<T> delegate;
+    private final String name;
+    private final int samplingInterval;
+    private final LatencyHistogram addLatency = new LatencyHistogram();
+    private final LatencyHistogram deleteMinLatency = new LatencyHistogram();
+
+    private final Counter comparisons;
+    private long adds;
+    private long deleteMins;
+    private int size;
+    private int highWaterMark;
+
+    /**
+     * Wraps an empty {@code delegate}; comparisons are not counted.
+     */
+    public InstrumentedPriorityQueue(PriorityQueue<T> delegate, int samplingInterval) {
+        this(delegate, new Counter(), samplingInterval);
+    }
+
+    /**
+     * Creates the queue with {@code factory}, passing it {@code comparator} (natural ordering if {@code null})
+     * wrapped to count comparisons, e.g. {@code new InstrumentedPriorityQueue<>(BinaryHeap::new, null, 16)}.
+     */
+    public InstrumentedPriorityQueue(Function<Comparator<T>, ? extends PriorityQueue<T>> factory,
+                                     Comparator<T> comparator, int samplingInterval) {
+        this(new Counter(), factory, comparator, samplingInterval);
+    }
+
+    private InstrumentedPriorityQueue(Counter comparisons,
+                                      Function<Comparator<T>, ? extends PriorityQueue<T>> factory,
+                                      Comparator<T> comparator, int samplingInterval) {
+        this(factory.apply(counting(Comparators.resolve(comparator), comparisons)), comparisons, samplingInterval);
+    }
+
+    private InstrumentedPriorityQueue(PriorityQueue<T> delegate, Counter comparisons, int samplingInterval) {
+        if (!delegate.isEmpty()) {
+            throw new IllegalArgumentException("Queue must be empty");
+        }
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("Sampling interval must be positive");
+        }
+        this.delegate = delegate;
+        this.comparisons = comparisons;
+        this.name = delegate.getClass().getSimpleName();
+        this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    public void add(T element) {
+        if (++adds % samplingInterval != 0) {
+            delegate.add(element);
+            grow();
+            return;
+        }
+
+        long comparisons = this.comparisons.value;
+        long start = System.nanoTime();
+        delegate.add(element);
+        long latency = System.nanoTime() - start;
+        grow();
+        addLatency.record(latency);
+        if (EMIT_EVENT != null) {
+            emitEvent("add", latency, this.comparisons.value - comparisons);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public T findMin() {
+        return delegate.findMin();
+    }
+
+    @Override
+    public T deleteMin() {
+        if (++deleteMins % samplingInterval != 0) {
+            return shrink(delegate.deleteMin());
+        }
+
+        long comparisons = this.comparisons.value;
+        long start = System.nanoTime();
+        T result = delegate.deleteMin();
+        long latency = System.nanoTime() - start;
+        shrink(result);
+        deleteMinLatency.record(latency);
+        if (EMIT_EVENT != null) {
+            emitEvent("deleteMin", latency, this.comparisons.value - comparisons);
+        }
+        return result;
+    }
+
+    /**
+     * Drains through the delegate without sampling.
+     */
+    @Override
+    public int drainTo(Consumer<? super T> consumer) {
+        int count = delegate.drainTo(consumer);
+        deleteMins += count;
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Drains through the delegate without sampling.
+     */
+    @Override
+    public int drainSorted(T[] out) {
+        int count = delegate.drainSorted(out);
+        deleteMins += count;
+        size -= count;
+        return count;
+    }
+
+    public LatencyHistogram getAddLatency() {
+        return addLatency.copy();
+    }
+
+    public LatencyHistogram getDeleteMinLatency() {
+        return deleteMinLatency.copy();
+    }
+
+    public long getComparisonCount() {
+        return comparisons.value;
+    }
+
+    public long getAddCount() {
+        return adds;
+    }
+
+    public long getDeleteMinCount() {
+        return deleteMins;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Resets the high-water mark to the current size and returns its previous value.
+     */
+    public int resetHighWaterMark() {
+        int result = highWaterMark;
+        highWaterMark = size;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Instrumented" + delegate;
+    }
+
+    private void grow() {
+        if (++size > highWaterMark) {
+            highWaterMark = size;
+        }
+    }
+
+    private T shrink(T result) {
+        if (result != null) {
+            size--;
+        }
+        return result;
+    }
+
+    private static <T> Comparator<T> counting(Comparator<T> comparator, Counter comparisons) {
+        return (element1, element2) -> {
+            comparisons.value++;
+            return comparator.compare(element1, element2);
+        };
+    }
+
+    private void emitEvent(String operation, long latency, long comparisons) {
+        try {
+            EMIT_EVENT.invokeExact(name, operation, latency, size, comparisons);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private static MethodHandle findEventEmitter() {
+        try {
+            Class<?> event = Class.forName(InstrumentedPriorityQueue.class.getPackage().getName()
+                    + ".PriorityQueueEvent", true, InstrumentedPriorityQueue.class.getClassLoader());
+            return MethodHandles.lookup().findStatic(event, "emit", MethodType.methodType(
+                    void.class, String.class, String.class, long.class, int.class, long.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static final class Counter {
+        private long value;
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of {@code long} keys stored in a {@code long[]}, optionally carrying an {@code int} payload
+ * per key (e.g. an index into caller-owned arrays). Keys are compared directly, so adding and removing never
+ * allocates once the arrays have grown. The payload array is only allocated by the first
+ * {@link #add(long, int)}; keys added without a payload carry {@code 0}.
+ *
+ * @author Ilya Murzinov
+ */
+public class LongBinaryHeap extends PrimitiveBinaryHeap {
+
+    public static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+
+    public LongBinaryHeap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public LongBinaryHeap(int initialCapacity) {
+        keys = new long[checkInitialCapacity(initialCapacity)];
+    }
+
+    public void add(long key) {
+        ensureCapacity();
+        if (payloads == null) {
+            heapifyUp(size++, key);
+        } else {
+            heapifyUp(size++, key, 0);
+        }
+    }
+
+    public void add(long key, int payload) {
+        ensureCapacity();
+        ensurePayloads();
+        heapifyUp(size++, key, payload);
+    }
+
+    /**
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long findMin() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Removes the minimum key; read its payload with {@link #findMinPayload()} first if needed.
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long deleteMin() {
+        checkNotEmpty();
+        long result = keys[0];
+        size--;
+        if (size > 0) {
+            if (payloads == null) {
+                heapifyDown(0, keys[size]);
+            } else {
+                heapifyDown(0, keys[size], payloads[size]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    void appendKey(StringBuilder sb, int index) {
+        sb.append(keys[index]);
+    }
+
+    private void heapifyUp(int index, long key) {
+        long[] keys = this.keys;
+        while (index > 0) {
+            int parentIndex = parentIndex(index);
+            long parent = keys[parentIndex];
+            if (parent <= key) {
+                break;
+            }
+            keys[index] = parent;
+            index = parentIndex;
+        }
+        keys[index] = key;
+    }
+
+    private void heapifyUp(int index, long key, int payload) {
+        long[] keys = this.keys;
+        int[] payloads = this.payloads;
+        while (index > 0) {
+            int parentIndex = parentIndex(index);
+            long parent = keys[parentIndex];
+            if (parent <= key) {
+                break;
+            }
+            keys[index] = parent;
+            payloads[index] = payloads[parentIndex];
+            index = parentIndex;
+        }
+        keys[index] = key;
+        payloads[index] = payload;
+    }
+
+    private void heapifyDown(int index, long key) {
+        long[] keys = this.keys;
+        int size = this.size;
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = leftChildIndex(index);
+            long child = keys[childIndex];
+            int rightChildIndex = childIndex + 1;
+            if (rightChildIndex < size && keys[rightChildIndex] < child) {
+                childIndex = rightChildIndex;
+                child = keys[childIndex];
+            }
+            if (key <= child) {
+                break;
+            }
+            keys[index] = child;
+            index = childIndex;
+        }
+        keys[index] = key;
+    }
+
+    private void heapifyDown(int index, long key, int payload) {
+        long[] keys = this.keys;
+        int[] payloads = this.payloads;
+        int size = this.size;
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = leftChildIndex(index);
+            long child = keys[childIndex];
+            int rightChildIndex = childIndex + 1;
+            if (rightChildIndex < size && keys[rightChildIndex] < child) {
+                childIndex = rightChildIndex;
+                child = keys[childIndex];
+            }
+            if (key <= child) {
+                break;
+            }
+            keys[index] = child;
+            payloads[index] = payloads[childIndex];
+            index = childIndex;
+        }
+        keys[index] = key;
+        payloads[index] = payload;
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent priority queue with relaxed ordering, built from several {@link BinaryHeap}s that each have their own
+ * lock. add puts the element into a random unlocked heap; deleteMin looks at the cached minimums of two random
+ * heaps and removes from the better one. Threads rarely wait on each other, at the price of deleteMin returning an
+ * element that is close to, but not necessarily, the global minimum.
+ * <p>
+ * deleteMin returns {@code null} only after it has seen every heap empty, so no element is lost; findMin and
+ * isEmpty are snapshots that may be stale by the time they return.
+ *
+ * @author Ilya Murzinov
+ */
+public class MultiQueue<T> implements PriorityQueue<T> {
+
+    public static final int DEFAULT_QUEUES_PER_THREAD = 2;
+
+    private final Comparator<T> comparator;
+    private final Lane<T>[] lanes;
+
+    public MultiQueue() {
+        this(DEFAULT_QUEUES_PER_THREAD * Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public MultiQueue(int queues, Comparator<T> comparator) {
+        if (queues < 1) {
+            throw new IllegalArgumentException("Number of queues must be positive");
+        }
+        this.comparator = Comparators.resolve(comparator);
+        this.lanes = (Lane<T>[]) new Lane<?>[queues];
+        for (int i = 0; i < queues; i++) {
+            lanes[i] = new Lane<>(new BinaryHeap<>(this.comparator));
+        }
+    }
+
+    @Override
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element");
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Lane<T> lane = lanes[random.nextInt(lanes.length)];
+            if (lane.lock.tryLock()) {
+                try {
+                    lane.heap.add(element);
+                    lane.min = lane.heap.findMin();
+                } finally {
+                    lane.lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Lane<T> lane : lanes) {
+            if (lane.min != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T findMin() {
+        T result = null;
+        for (Lane<T> lane : lanes) {
+            T min = lane.min;
+            if (min != null && (result == null || comparator.compare(min, result) < 0)) {
+                result = min;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public T deleteMin() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < lanes.length; attempt++) {
+            Lane<T> lane = lanes[random.nextInt(lanes.length)];
+            Lane<T> other = lanes[random.nextInt(lanes.length)];
+            T min = lane.min;
+            T otherMin = other.min;
+            if (min == null || (otherMin != null && comparator.compare(otherMin, min) < 0)) {
+                lane = other;
+                min = otherMin;
+            }
+            if (min == null) {
+                break;
+            }
+            if (lane.lock.tryLock()) {
+                try {
+                    T result = lane.heap.deleteMin();
+                    if (result != null) {
+                        lane.min = lane.heap.findMin();
+                        return result;
+                    }
+                } finally {
+                    lane.lock.unlock();
+                }
+            }
+        }
+        return deleteFromAnyLane(random.nextInt(lanes.length));
+    }
+
+    /**
+     * Slow path for when the random probes keep failing: visits every heap, waiting for its lock.
+     */
+    private T deleteFromAnyLane(int start) {
+        for (int i = 0; i < lanes.length; i++) {
+            Lane<T> lane = lanes[(start + i) % lanes.length];
+            if (lane.min == null) {
+                continue;
+            }
+            lane.lock.lock();
+            try {
+                T result = lane.heap.deleteMin();
+                if (result != null) {
+                    lane.min = lane.heap.findMin();
+                    return result;
+                }
+            } finally {
+                lane.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiQueue[queues: " + lanes.length + ", min: " + findMin() + "]";
+    }
+
+    private static final class Lane<T> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final BinaryHeap<T> heap;
+        /**
+         * Minimum of {@link #heap}, written under {@link #lock} and read without it.
+         */
+        private volatile T min;
+
+        private Lane(BinaryHeap<T> heap) {
+            this.heap = heap;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+/**
+ * Identifies the heap a node belongs to. Melding a heap forwards its owner to the owner of the heap it was melded
+ * into, so handles can be checked without touching every moved node.
+ *
+ * @author Ilya Murzinov
+ */
+final class Owner {
+    private Owner forward;
+
+    /**
+     * Returns the owner this one has been forwarded to, compressing the chain on the way.
+     */
+    Owner resolve() {
+        Owner result = this;
+        while (result.forward != null) {
+            result = result.forward;
+        }
+        Owner current = this;
+        while (current != result) {
+            Owner next = current.forward;
+            current.forward = result;
+            current = next;
+        }
+        return result;
+    }
+
+    void forwardTo(Owner owner) {
+        forward = owner;
+    }
+}
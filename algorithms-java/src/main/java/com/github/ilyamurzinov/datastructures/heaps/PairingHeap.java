@@ -0,0 +1,238 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Comparator;
+
+/**
+ * Pairing heap: a heap-ordered multiway tree where add, meld and decreaseKey are O(1) links and deleteMin
+ * re-pairs the children of the root in two passes, taking O(log n) amortized.
+ *
+ * @author Ilya Murzinov
+ */
+public class PairingHeap<T> implements AddressablePriorityQueue<T> {
+
+    private final Comparator<T> comparator;
+
+    private Owner owner = new Owner();
+    private Node<T> root;
+    private int size;
+
+    public PairingHeap() {
+        this(null);
+    }
+
+    public PairingHeap(Comparator<T> comparator) {
+        this.comparator = Comparators.resolve(comparator);
+    }
+
+    @Override
+    public void add(T element) {
+        insert(element);
+    }
+
+    @Override
+    public Handle<T> insert(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element");
+        }
+
+        Node<T> node = new Node<>(element, owner);
+        root = link(root, node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public T findMin() {
+        return root == null ? null : root.value;
+    }
+
+    @Override
+    public T deleteMin() {
+        if (root == null) {
+            return null;
+        }
+
+        Node<T> result = root;
+        root = pair(result.child);
+        result.child = null;
+        result.owner = null;
+        size--;
+        return result.value;
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, T newValue) {
+        if (newValue == null) {
+            throw new IllegalArgumentException("newValue");
+        }
+        Node<T> node = node(handle);
+        if (comparator.compare(newValue, node.value) > 0) {
+            throw new IllegalArgumentException("New value is greater than the current one");
+        }
+        node.value = newValue;
+        if (node != root) {
+            cut(node);
+            root = link(root, node);
+        }
+    }
+
+    @Override
+    public void remove(Handle<T> handle) {
+        Node<T> node = node(handle);
+        if (node == root) {
+            deleteMin();
+            return;
+        }
+        cut(node);
+        root = link(root, pair(node.child));
+        node.child = null;
+        node.owner = null;
+        size--;
+    }
+
+    @Override
+    public boolean contains(Handle<T> handle) {
+        if (!(handle instanceof Node)) {
+            return false;
+        }
+        Node<T> node = (Node<T>) handle;
+        if (node.owner == null) {
+            return false;
+        }
+        node.owner = node.owner.resolve();
+        return node.owner == owner;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves all elements of {@code that} into this heap and returns this heap; {@code that} is left empty.
+     * Handles obtained from {@code that} stay valid for this heap. There is no non-destructive merge: a copy would
+     * hold new nodes, and handles into either heap could not address it.
+     */
+    public PairingHeap<T> meld(PairingHeap<T> that) {
+        if (that == this) {
+            throw new IllegalArgumentException("Can not meld heap with itself");
+        }
+
+        root = link(root, that.root);
+        size += that.size;
+        that.owner.forwardTo(owner);
+        that.owner = new Owner();
+        that.root = null;
+        that.size = 0;
+        return this;
+    }
+
+    private Node<T> node(Handle<T> handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Handle does not belong to this heap");
+        }
+        return (Node<T>) handle;
+    }
+
+    /**
+     * Links two detached trees, making the one with the greater root the first child of the other.
+     */
+    private Node<T> link(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (comparator.compare(b.value, a.value) < 0) {
+            Node<T> tmp = a;
+            a = b;
+            b = tmp;
+        }
+        b.prev = a;
+        b.sibling = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Detaches the subtree rooted at {@code node} from its parent and siblings.
+     */
+    private void cut(Node<T> node) {
+        if (node.prev.child == node) {
+            node.prev.child = node.sibling;
+        } else {
+            node.prev.sibling = node.sibling;
+        }
+        if (node.sibling != null) {
+            node.sibling.prev = node.prev;
+        }
+        node.prev = null;
+        node.sibling = null;
+    }
+
+    /**
+     * Combines the sibling list starting at {@code first} into one tree: links neighbours pairwise left to right,
+     * then links the pairs right to left. The pairs are kept on a stack threaded through {@code sibling}.
+     */
+    private Node<T> pair(Node<T> first) {
+        Node<T> stack = null;
+        Node<T> a = first;
+        while (a != null) {
+            Node<T> b = a.sibling;
+            Node<T> next = b == null ? null : b.sibling;
+            a.prev = null;
+            a.sibling = null;
+            if (b != null) {
+                b.prev = null;
+                b.sibling = null;
+            }
+            Node<T> pair = link(a, b);
+            pair.sibling = stack;
+            stack = pair;
+            a = next;
+        }
+
+        Node<T> result = null;
+        while (stack != null) {
+            Node<T> next = stack.sibling;
+            stack.sibling = null;
+            result = link(result, stack);
+            stack = next;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PairingHeap[size: " + size + ", min: " + findMin() + "]";
+    }
+
+    private static final class Node<T> implements Handle<T> {
+        private T value;
+        private Owner owner;
+        private Node<T> child;
+        private Node<T> sibling;
+        /**
+         * Parent for the first child, left sibling otherwise.
+         */
+        private Node<T> prev;
+
+        private Node(T value, Owner owner) {
+            this.value = value;
+            this.owner = owner;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Index arithmetic, payload storage and growth shared by the binary heaps of primitive keys. Subclasses own the
+ * key array and the sifting loops, which compare keys directly so nothing is boxed.
+ *
+ * @author Ilya Murzinov
+ */
+abstract class PrimitiveBinaryHeap {
+
+    int[] payloads;
+    int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the payload of the minimum key, {@code 0} if it was added without one.
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int findMinPayload() {
+        checkNotEmpty();
+        return payloads == null ? 0 : payloads[0];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    abstract int capacity();
+
+    abstract void resizeKeys(int capacity);
+
+    abstract void appendKey(StringBuilder sb, int index);
+
+    static int checkInitialCapacity(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        return initialCapacity;
+    }
+
+    static int parentIndex(int index) {
+        return (index - 1) >>> 1;
+    }
+
+    static int leftChildIndex(int index) {
+        return 2 * index + 1;
+    }
+
+    /**
+     * Makes room for one more key, growing the key and payload arrays together.
+     */
+    final void ensureCapacity() {
+        int capacity = capacity();
+        if (size == capacity) {
+            if (capacity == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Heap is full");
+            }
+            int newCapacity = (int) Math.min(2L * capacity, Integer.MAX_VALUE);
+            resizeKeys(newCapacity);
+            if (payloads != null) {
+                payloads = Arrays.copyOf(payloads, newCapacity);
+            }
+        }
+    }
+
+    /**
+     * Allocates the payload array on the first key added with a payload.
+     */
+    final void ensurePayloads() {
+        if (payloads == null) {
+            payloads = new int[capacity()];
+        }
+    }
+
+    final void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append(": [");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            appendKey(sb, i);
+        }
+        return sb.append("]").toString();
+    }
+}
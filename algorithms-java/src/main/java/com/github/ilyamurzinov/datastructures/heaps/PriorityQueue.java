@@ -1,5 +1,7 @@
 package com.github.ilyamurzinov.datastructures.heaps;
 
+import java.util.function.Consumer;
+
 /**
  * @author Ilya Murzinov
  */
@@ -11,4 +13,30 @@ public interface PriorityQueue<T> {
     T findMin();
 
     T deleteMin();
+
+    /**
+     * Removes all elements in ascending order, passing each to {@code consumer}, and returns their number.
+     */
+    default int drainTo(Consumer<? super T> consumer) {
+        int count = 0;
+        T element;
+        while ((element = deleteMin()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Removes the smallest {@code out.length} elements (or all, if there are fewer) into {@code out} in ascending
+     * order and returns their number.
+     */
+    default int drainSorted(T[] out) {
+        int count = 0;
+        T element;
+        while (count < out.length && (element = deleteMin()) != null) {
+            out[count++] = element;
+        }
+        return count;
+    }
 }
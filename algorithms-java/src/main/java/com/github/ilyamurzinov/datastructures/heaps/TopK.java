@@ -0,0 +1,105 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the {@code k} largest elements offered to it. The elements live in a {@link BinaryHeap} of fixed capacity
+ * {@code k} whose minimum is the smallest element kept, so a better element replaces it in place and offering an
+ * element never allocates.
+ *
+ * @author Ilya Murzinov
+ */
+public class TopK<T> implements Consumer<T> {
+
+    private final int k;
+    private final Comparator<T> comparator;
+    private final BinaryHeap<T> heap;
+
+    public TopK(int k) {
+        this(k, null);
+    }
+
+    public TopK(int k, Comparator<T> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.comparator = Comparators.resolve(comparator);
+        this.heap = new BinaryHeap<>(k, this.comparator);
+    }
+
+    /**
+     * Keeps {@code element} if fewer than {@code k} elements are kept or it is greater than the smallest of them.
+     */
+    public void offer(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element");
+        }
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (comparator.compare(element, heap.findMin()) > 0) {
+            heap.replaceMin(element);
+        }
+    }
+
+    @Override
+    public void accept(T element) {
+        offer(element);
+    }
+
+    /**
+     * Offers all elements kept by {@code that} to this selector and returns this selector.
+     */
+    @SuppressWarnings("unchecked")
+    public TopK<T> merge(TopK<T> that) {
+        for (Object element : that.heap.toArray()) {
+            offer((T) element);
+        }
+        return this;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the kept elements, largest first.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        T[] elements = (T[]) heap.toArray();
+        Arrays.sort(elements, Collections.reverseOrder(comparator));
+        return new ArrayList<>(Arrays.asList(elements));
+    }
+
+    /**
+     * Collects the {@code k} largest elements of a stream, largest first. Partial results of a parallel stream are
+     * merged, so every element is still offered exactly once.
+     */
+    public static <T extends Comparable<? super T>> Collector<T, ?, List<T>> collector(int k) {
+        return collector(k, null);
+    }
+
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<T> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        return Collector.of(
+                () -> new TopK<>(k, comparator),
+                TopK::offer,
+                TopK::merge,
+                TopK::toList,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    @Override
+    public String toString() {
+        return "TopK[k: " + k + ", elements: " + toList() + "]";
+    }
+}
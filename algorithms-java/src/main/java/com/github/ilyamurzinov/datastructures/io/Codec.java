@@ -0,0 +1,25 @@
+package com.github.ilyamurzinov.datastructures.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes values into a variable number of bytes at the position of a buffer.
+ *
+ * @author Ilya Murzinov
+ */
+public interface Codec<T> {
+    /**
+     * Returns the number of bytes {@link #write} puts for {@code value}.
+     */
+    int size(T value);
+
+    /**
+     * Puts exactly {@link #size} bytes of {@code value} at the position of {@code buffer}, advancing it.
+     */
+    void write(ByteBuffer buffer, T value);
+
+    /**
+     * Reads a value from the remaining bytes of {@code buffer}, advancing its position.
+     */
+    T read(ByteBuffer buffer);
+}
@@ -0,0 +1,147 @@
+package com.github.ilyamurzinov.datastructures.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Standard codecs.
+ *
+ * @author Ilya Murzinov
+ */
+public final class Codecs {
+
+    public static final FixedWidthCodec<Integer> INT = new FixedWidthCodec<Integer>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    public static final FixedWidthCodec<Long> LONG = new FixedWidthCodec<Long>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    public static final FixedWidthCodec<Double> DOUBLE = new FixedWidthCodec<Double>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double value) {
+            buffer.putDouble(offset, value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    /**
+     * Stores strings as UTF-8 of any length.
+     */
+    public static final Codec<String> STRING = new Codec<String>() {
+        @Override
+        public int size(String value) {
+            int size = value.length();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    size += 2;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    // encoded as '?'
+                } else if (c >= 0x800) {
+                    size += 2;
+                } else if (c >= 0x80) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, String value) {
+            buffer.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    private Codecs() {
+    }
+
+    /**
+     * Returns a codec storing strings as at most {@code maxBytes} bytes of UTF-8, preceded by their length.
+     *
+     * @throws IllegalArgumentException on write, if a string does not fit
+     * @throws IllegalStateException on read, if the stored length is not between {@code 0} and {@code maxBytes}
+     */
+    public static FixedWidthCodec<String> fixedWidthString(int maxBytes) {
+        if (maxBytes < 1 || maxBytes > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String width must be between 1 and " + Short.MAX_VALUE);
+        }
+        return new FixedWidthCodec<String>() {
+            @Override
+            public int width() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes) {
+                    throw new IllegalArgumentException("String is longer than " + maxBytes + " bytes: " + value);
+                }
+                buffer.putShort(offset, (short) bytes.length);
+                for (int i = 0; i < maxBytes; i++) {
+                    buffer.put(offset + Short.BYTES + i, i < bytes.length ? bytes[i] : 0);
+                }
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                int length = buffer.getShort(offset);
+                if (length < 0 || length > maxBytes) {
+                    throw new IllegalStateException("Corrupted string length " + length + ", expected at most "
+                            + maxBytes);
+                }
+                byte[] bytes = new byte[length];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = buffer.get(offset + Short.BYTES + i);
+                }
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.ilyamurzinov.datastructures.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes values into exactly {@link #width()} bytes at a given position of a buffer.
+ * Reads and writes use absolute positions, so the buffer's own position and limit are left untouched.
+ *
+ * @author Ilya Murzinov
+ */
+public interface FixedWidthCodec<T> extends Codec<T> {
+    int width();
+
+    void write(ByteBuffer buffer, int offset, T value);
+
+    T read(ByteBuffer buffer, int offset);
+
+    @Override
+    default int size(T value) {
+        return width();
+    }
+
+    @Override
+    default void write(ByteBuffer buffer, T value) {
+        int position = buffer.position();
+        write(buffer, position, value);
+        buffer.position(position + width());
+    }
+
+    @Override
+    default T read(ByteBuffer buffer) {
+        int position = buffer.position();
+        T result = read(buffer, position);
+        buffer.position(position + width());
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.ilyamurzinov.datastructures.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Buffered reader of what {@link SnapshotWriter} writes.
+ *
+ * @author Ilya Murzinov
+ */
+public final class SnapshotReader {
+    /**
+     * The largest value, in bytes, that is read. Larger sizes are taken for corruption.
+     */
+    public static final int MAX_VALUE_SIZE = 1 << 28;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    public SnapshotReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SnapshotReader(ReadableByteChannel channel, int bufferSize) {
+        if (bufferSize < Long.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + Long.BYTES);
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.limit(0);
+    }
+
+    public byte readByte() throws IOException {
+        require(Byte.BYTES);
+        return buffer.get();
+    }
+
+    public int readInt() throws IOException {
+        require(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        require(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    public double readDouble() throws IOException {
+        require(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    /**
+     * Values larger than the buffer are read into an array that doubles as bytes arrive, so a stream that ends
+     * early fails before the whole claimed size is allocated.
+     *
+     * @throws IOException if the stream ends or the size of the value is negative or above {@link #MAX_VALUE_SIZE}
+     */
+    public <T> T read(Codec<T> codec) throws IOException {
+        int size = codec instanceof FixedWidthCodec ? ((FixedWidthCodec<T>) codec).width() : readInt();
+        if (size < 0 || size > MAX_VALUE_SIZE) {
+            throw new IOException("Corrupted value size " + size);
+        }
+        if (size > buffer.capacity()) {
+            ByteBuffer large = ByteBuffer.allocate(buffer.capacity());
+            large.put(buffer);
+            while (large.position() < size) {
+                if (!large.hasRemaining()) {
+                    ByteBuffer grown = ByteBuffer.allocate((int) Math.min(2L * large.capacity(), size));
+                    large.flip();
+                    grown.put(large);
+                    large = grown;
+                }
+                if (channel.read(large) < 0) {
+                    throw new EOFException();
+                }
+            }
+            large.flip();
+            return codec.read(large);
+        }
+
+        require(size);
+        int limit = buffer.limit();
+        int end = buffer.position() + size;
+        buffer.limit(end);
+        T result = codec.read(buffer);
+        buffer.limit(limit);
+        buffer.position(end);
+        return result;
+    }
+
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.ilyamurzinov.datastructures.io;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffered writer of snapshot primitives and codec-encoded values to a channel. Values of a {@link FixedWidthCodec}
+ * are written as they are, other values are preceded by their size.
+ *
+ * @author Ilya Murzinov
+ */
+public final class SnapshotWriter implements Flushable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    public SnapshotWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SnapshotWriter(WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < Long.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + Long.BYTES);
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void writeByte(int value) throws IOException {
+        require(Byte.BYTES);
+        buffer.put((byte) value);
+    }
+
+    public void writeInt(int value) throws IOException {
+        require(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        require(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    public void writeDouble(double value) throws IOException {
+        require(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value takes more than {@link SnapshotReader#MAX_VALUE_SIZE} bytes
+     * @throws IllegalStateException    if {@code codec} writes another number of bytes than it reports
+     */
+    public <T> void write(Codec<? super T> codec, T value) throws IOException {
+        int size = codec.size(value);
+        if (size > SnapshotReader.MAX_VALUE_SIZE) {
+            throw new IllegalArgumentException("Value of " + size + " bytes is too large to be read back");
+        }
+        if (!(codec instanceof FixedWidthCodec)) {
+            writeInt(size);
+        }
+        if (size > buffer.capacity()) {
+            flush();
+            ByteBuffer large = ByteBuffer.allocate(size);
+            encode(codec, large, value, size);
+            large.flip();
+            drain(large);
+        } else {
+            require(size);
+            encode(codec, buffer, value, size);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        drain(buffer);
+        buffer.clear();
+    }
+
+    private <T> void encode(Codec<? super T> codec, ByteBuffer buffer, T value, int size) {
+        int start = buffer.position();
+        codec.write(buffer, value);
+        if (buffer.position() - start != size) {
+            throw new IllegalStateException("Codec wrote " + (buffer.position() - start)
+                    + " bytes instead of " + size);
+        }
+    }
+
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void drain(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
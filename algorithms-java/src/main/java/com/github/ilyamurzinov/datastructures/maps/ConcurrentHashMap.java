@@ -0,0 +1,643 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Hash table for concurrent use. Reads never lock: they follow volatile links and forwarding nodes.
+ * An empty bin is filled with a CAS, a non-empty one is updated while holding the monitor of its first node.
+ * When the table grows, every thread that runs into the resize claims a range of bins and moves them, leaving a
+ * forwarding node behind. Iterators are weakly consistent and never throw {@code ConcurrentModificationException}.
+ * Neither keys nor values may be {@code null}.
+ *
+ * @author Ilya Murzinov
+ */
+public class ConcurrentHashMap<K, V> implements ConcurrentMap<K, V> {
+    private static final int DEFAULT_CAPACITY = 1 << 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int MIN_TRANSFER_STRIDE = 16;
+    private static final int CPUS = Runtime.getRuntime().availableProcessors();
+
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+    private static final int HASH_BITS = 0x7fffffff;
+
+    private volatile Table<K, V> table;
+    private volatile int threshold;
+    private final LongAdder count = new LongAdder();
+
+    public ConcurrentHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ConcurrentHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int capacity = 1;
+        while (capacity < initialCapacity && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        this.table = new Table<>(capacity);
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        if (value == null) {
+            return false;
+        }
+        for (V v : values()) {
+            if (v == value || value.equals(v)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = table;
+        while (true) {
+            Node<K, V> node = tab.get(hash & (tab.length() - 1));
+            if (node == null) {
+                return null;
+            }
+            if (node.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) node).resize.target;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hash && (node.key == key || key.equals(node.key))) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = table;
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if (first == null) {
+                return null;
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else if (first.hash == RESERVED) {
+                awaitReservation(first);
+            } else {
+                synchronized (first) {
+                    if (tab.get(index) != first) {
+                        continue;
+                    }
+                    Node<K, V> previous = null;
+                    for (Node<K, V> node = first; node != null; previous = node, node = node.next) {
+                        if (node.hash == hash && (node.key == key || key.equals(node.key))) {
+                            if (previous == null) {
+                                tab.set(index, node.next);
+                            } else {
+                                previous.next = node.next;
+                            }
+                            count.decrement();
+                            return node.value;
+                        }
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            throw new IllegalArgumentException("Key and mapping function must not be null");
+        }
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = table;
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if (first == null) {
+                Node<K, V> reservation = new Node<>(RESERVED, null, null, null);
+                V value = null;
+                synchronized (reservation) {
+                    if (!tab.compareAndSet(index, null, reservation)) {
+                        continue;
+                    }
+                    try {
+                        value = mappingFunction.apply(key);
+                    } finally {
+                        tab.set(index, value == null ? null : new Node<>(hash, key, value, null));
+                    }
+                }
+                if (value != null) {
+                    added(tab);
+                }
+                return value;
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else if (first.hash == RESERVED) {
+                awaitReservation(first);
+            } else {
+                V value;
+                synchronized (first) {
+                    if (tab.get(index) != first) {
+                        continue;
+                    }
+                    Node<K, V> last = null;
+                    for (Node<K, V> node = first; node != null; node = node.next) {
+                        if (node.hash == hash && (node.key == key || key.equals(node.key))) {
+                            return node.value;
+                        }
+                        last = node;
+                    }
+                    value = mappingFunction.apply(key);
+                    if (value == null) {
+                        return null;
+                    }
+                    last.next = new Node<>(hash, key, value, null);
+                }
+                added(tab);
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            throw new IllegalArgumentException("Key, value and remapping function must not be null");
+        }
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = table;
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if (first == null) {
+                if (tab.compareAndSet(index, null, new Node<>(hash, key, value, null))) {
+                    added(tab);
+                    return value;
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else if (first.hash == RESERVED) {
+                awaitReservation(first);
+            } else {
+                synchronized (first) {
+                    if (tab.get(index) != first) {
+                        continue;
+                    }
+                    Node<K, V> previous = null;
+                    for (Node<K, V> node = first; node != null; previous = node, node = node.next) {
+                        if (node.hash == hash && (node.key == key || key.equals(node.key))) {
+                            V result = remappingFunction.apply(node.value, value);
+                            if (result != null) {
+                                node.value = result;
+                            } else {
+                                if (previous == null) {
+                                    tab.set(index, node.next);
+                                } else {
+                                    previous.next = node.next;
+                                }
+                                count.decrement();
+                            }
+                            return result;
+                        }
+                    }
+                    previous.next = new Node<>(hash, key, value, null);
+                }
+                added(tab);
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        Table<K, V> tab = table;
+        int index = 0;
+        while (index < tab.length()) {
+            Node<K, V> first = tab.get(index);
+            if (first == null) {
+                index++;
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+                index = 0;
+            } else if (first.hash == RESERVED) {
+                awaitReservation(first);
+            } else {
+                synchronized (first) {
+                    if (tab.get(index) == first) {
+                        int removed = 0;
+                        for (Node<K, V> node = first; node != null; node = node.next) {
+                            removed++;
+                        }
+                        tab.set(index++, null);
+                        count.add(-removed);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new Traverser<K, V, K>(table) {
+                    @Override
+                    public K next() {
+                        return nextNode().key;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ConcurrentHashMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Traverser<K, V, V>(table) {
+                    @Override
+                    public V next() {
+                        return nextNode().value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ConcurrentHashMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<? extends Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Traverser<K, V, Entry<K, V>>(table) {
+                    @Override
+                    public Entry<K, V> next() {
+                        Node<K, V> node = nextNode();
+                        return new Entry<>(ConcurrentHashMap.this, node.key, node.value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ConcurrentHashMap.this.size();
+            }
+        };
+    }
+
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Null keys and values are not supported");
+        }
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = table;
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if (first == null) {
+                if (tab.compareAndSet(index, null, new Node<>(hash, key, value, null))) {
+                    added(tab);
+                    return null;
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else if (first.hash == RESERVED) {
+                awaitReservation(first);
+            } else {
+                synchronized (first) {
+                    if (tab.get(index) != first) {
+                        continue;
+                    }
+                    Node<K, V> last = null;
+                    for (Node<K, V> node = first; node != null; node = node.next) {
+                        if (node.hash == hash && (node.key == key || key.equals(node.key))) {
+                            V result = node.value;
+                            if (!onlyIfAbsent) {
+                                node.value = value;
+                            }
+                            return result;
+                        }
+                        last = node;
+                    }
+                    last.next = new Node<>(hash, key, value, null);
+                }
+                added(tab);
+                return null;
+            }
+        }
+    }
+
+    private void added(Table<K, V> tab) {
+        count.increment();
+        if (tab == table && tab.length() < MAXIMUM_CAPACITY && count.sum() >= threshold) {
+            Resize<K, V> resize = tab.resize;
+            if (resize == null) {
+                Resize<K, V> candidate = new Resize<>(tab);
+                resize = Table.RESIZE.compareAndSet(tab, null, candidate) ? candidate : tab.resize;
+            }
+            transfer(resize);
+        }
+    }
+
+    private Table<K, V> helpTransfer(ForwardingNode<K, V> forwardingNode) {
+        transfer(forwardingNode.resize);
+        return forwardingNode.resize.target;
+    }
+
+    /**
+     * Claims ranges of not yet moved bins until there are none left. The thread that moves the last bin publishes
+     * the new table.
+     */
+    private void transfer(Resize<K, V> resize) {
+        int length = resize.source.length();
+        int stride = Math.max(MIN_TRANSFER_STRIDE, length / (CPUS << 3));
+        while (true) {
+            int high = resize.transferIndex.get();
+            if (high <= 0) {
+                return;
+            }
+            int low = Math.max(0, high - stride);
+            if (!resize.transferIndex.compareAndSet(high, low)) {
+                continue;
+            }
+            for (int index = high - 1; index >= low; index--) {
+                transferBin(resize, index);
+            }
+            if (resize.remaining.addAndGet(low - high) == 0) {
+                threshold = (int) (resize.target.length() * LOAD_FACTOR);
+                table = resize.target;
+            }
+        }
+    }
+
+    private void transferBin(Resize<K, V> resize, int index) {
+        Table<K, V> source = resize.source;
+        int length = source.length();
+        while (true) {
+            Node<K, V> first = source.get(index);
+            if (first == null) {
+                if (source.compareAndSet(index, null, resize.forwardingNode)) {
+                    return;
+                }
+            } else if (first.hash == RESERVED) {
+                awaitReservation(first);
+            } else {
+                synchronized (first) {
+                    if (source.get(index) != first) {
+                        continue;
+                    }
+                    Node<K, V> low = null;
+                    Node<K, V> high = null;
+                    for (Node<K, V> node = first; node != null; node = node.next) {
+                        if ((node.hash & length) == 0) {
+                            low = new Node<>(node.hash, node.key, node.value, low);
+                        } else {
+                            high = new Node<>(node.hash, node.key, node.value, high);
+                        }
+                    }
+                    resize.target.set(index, low);
+                    resize.target.set(index + length, high);
+                    source.set(index, resize.forwardingNode);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the calling thread holds the reservation itself, i.e. a mapping function
+     * updates the bin it is computing a value for
+     */
+    private static void awaitReservation(Node<?, ?> reservation) {
+        if (Thread.holdsLock(reservation)) {
+            throw new IllegalStateException("Recursive update");
+        }
+        synchronized (reservation) {
+            // the owner releases the monitor only after replacing the reservation
+        }
+    }
+
+    private static int spread(int hashCode) {
+        return (hashCode ^ (hashCode >>> 16)) & HASH_BITS;
+    }
+
+    private static class Node<K, V> {
+        private final int hash;
+        private final K key;
+        private volatile V value;
+        private volatile Node<K, V> next;
+
+        private Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        private final Resize<K, V> resize;
+
+        private ForwardingNode(Resize<K, V> resize) {
+            super(MOVED, null, null, null);
+            this.resize = resize;
+        }
+    }
+
+    private static final class Table<K, V> extends AtomicReferenceArray<Node<K, V>> {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Table, Resize> RESIZE =
+                AtomicReferenceFieldUpdater.newUpdater(Table.class, Resize.class, "resize");
+
+        private volatile Resize<K, V> resize;
+
+        private Table(int length) {
+            super(length);
+        }
+    }
+
+    private static final class Resize<K, V> {
+        private final Table<K, V> source;
+        private final Table<K, V> target;
+        private final ForwardingNode<K, V> forwardingNode;
+        private final AtomicInteger transferIndex;
+        private final AtomicInteger remaining;
+
+        private Resize(Table<K, V> source) {
+            this.source = source;
+            this.target = new Table<>(source.length() << 1);
+            this.forwardingNode = new ForwardingNode<>(this);
+            this.transferIndex = new AtomicInteger(source.length());
+            this.remaining = new AtomicInteger(source.length());
+        }
+    }
+
+    private static final class Entry<K, V> implements Map.Entry<K, V> {
+        private final ConcurrentHashMap<K, V> map;
+        private final K key;
+        private V value;
+
+        private Entry(ConcurrentHashMap<K, V> map, K key, V value) {
+            this.map = map;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V result = this.value;
+            map.put(key, value);
+            this.value = value;
+            return result;
+        }
+    }
+
+    /**
+     * Visits the bins of a table snapshot; a forwarded bin is replaced by its two halves in the next table.
+     */
+    private static abstract class Traverser<K, V, E> implements Iterator<E> {
+        private final Deque<Table<K, V>> tables = new ArrayDeque<>();
+        private final Deque<Integer> indexes = new ArrayDeque<>();
+        private final Table<K, V> base;
+        private int baseIndex;
+        private Node<K, V> next;
+
+        private Traverser(Table<K, V> base) {
+            this.base = base;
+            advance(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        Node<K, V> nextNode() {
+            Node<K, V> result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            advance(result.next);
+            return result;
+        }
+
+        private void advance(Node<K, V> node) {
+            while (node == null) {
+                Table<K, V> tab;
+                int index;
+                if (!tables.isEmpty()) {
+                    tab = tables.pop();
+                    index = indexes.pop();
+                } else if (baseIndex < base.length()) {
+                    tab = base;
+                    index = baseIndex++;
+                } else {
+                    break;
+                }
+
+                Node<K, V> first = tab.get(index);
+                if (first != null && first.hash == MOVED) {
+                    Table<K, V> target = ((ForwardingNode<K, V>) first).resize.target;
+                    tables.push(target);
+                    indexes.push(index + tab.length());
+                    tables.push(target);
+                    indexes.push(index);
+                } else if (first != null && first.hash != RESERVED) {
+                    node = first;
+                }
+            }
+            next = node;
+        }
+    }
+}
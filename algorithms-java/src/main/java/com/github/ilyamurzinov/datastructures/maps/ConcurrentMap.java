@@ -0,0 +1,17 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link Map} that is safe for concurrent use and offers atomic read-modify-write operations.
+ *
+ * @author Ilya Murzinov
+ */
+public interface ConcurrentMap<K, V> extends Map<K, V> {
+    V putIfAbsent(K key, V value);
+
+    V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+    V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+}
@@ -1,10 +1,27 @@
 package com.github.ilyamurzinov.datastructures.maps;
 
+import com.github.ilyamurzinov.datastructures.io.Codec;
+import com.github.ilyamurzinov.datastructures.io.SnapshotReader;
+import com.github.ilyamurzinov.datastructures.io.SnapshotWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.AbstractCollection;
 import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Ilya Murzinov
@@ -13,6 +30,16 @@ public class HashMap<K, V> implements Map<K, V> {
     private static final int DEFAULT_CAPACITY = 1 << 4;
     private static final int MAXIMUM_CAPACITY = 1 << 20; // not 1 << 30, for testing purposes
     private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int MIGRATION_STEP = 4;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+
+    private static final int SNAPSHOT_MAGIC = 0x484D4150;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int NULL_KEY = 1;
+    private static final int NULL_VALUE = 2;
+    private static final int CHAIN_HISTOGRAM_SIZE = 16;
 
     private HashMapEntry<K, V>[] buckets;
     private int size;
@@ -20,6 +47,21 @@ public class HashMap<K, V> implements Map<K, V> {
     private int threshold;
     private double loadFactor;
 
+    private final boolean incrementalResize;
+    private final HashingStrategy<? super K> hashingStrategy;
+    private final int seed;
+    private HashMapEntry<K, V>[] oldBuckets;
+    private int migrationIndex;
+
+    /**
+     * {@code null} unless statistics are enabled, so that a disabled map only pays for the null checks.
+     */
+    private Statistics statistics;
+
+    private Set<K> keySet;
+    private Collection<V> values;
+    private Set<HashMapEntry<K, V>> entrySet;
+
     public HashMap() {
         this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
     }
@@ -29,6 +71,34 @@ public class HashMap<K, V> implements Map<K, V> {
     }
 
     public HashMap(int initialCapacity, double loadFactor) {
+        this(initialCapacity, loadFactor, false);
+    }
+
+    /**
+     * @param incrementalResize if {@code true}, buckets of the old table are migrated a few at a time on
+     *                          subsequent operations instead of all at once when the threshold is reached
+     */
+    public HashMap(int initialCapacity, double loadFactor, boolean incrementalResize) {
+        this(initialCapacity, loadFactor, incrementalResize, HashingStrategy.DEFAULT, false);
+    }
+
+    public HashMap(HashingStrategy<? super K> hashingStrategy) {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, false, hashingStrategy, false);
+    }
+
+    /**
+     * @param hashingStrategy defines hash codes and equality of keys; tree buckets only order keys by
+     *                        {@link Comparable} under {@link HashingStrategy#DEFAULT}, whose equality is
+     *                        consistent with it
+     * @param seeded          if {@code true}, hash codes are mixed with a random per-instance seed, so bucket
+     *                        indices cannot be predicted from outside. Keys with equal hash codes still collide;
+     *                        those are handled by tree buckets.
+     */
+    public HashMap(int initialCapacity, double loadFactor, boolean incrementalResize,
+                   HashingStrategy<? super K> hashingStrategy, boolean seeded) {
+        if (hashingStrategy == null) {
+            throw new IllegalArgumentException("hashingStrategy");
+        }
         if (initialCapacity <= 0) {
             throw new IllegalArgumentException("Capacity must be positive");
         } else if (initialCapacity > MAXIMUM_CAPACITY) {
@@ -44,7 +114,10 @@ public class HashMap<K, V> implements Map<K, V> {
         this.capacity = getCapacity(initialCapacity);
         this.loadFactor = loadFactor;
         this.threshold = (int) (this.capacity * this.loadFactor);
-        this.buckets = new HashMapEntry[this.capacity];
+        this.buckets = newBuckets(this.capacity);
+        this.incrementalResize = incrementalResize;
+        this.hashingStrategy = hashingStrategy;
+        this.seed = seeded ? ThreadLocalRandom.current().nextInt() : 0;
     }
 
     @Override
@@ -59,87 +132,106 @@ public class HashMap<K, V> implements Map<K, V> {
 
     @Override
     public boolean containsKey(K key) {
-        return keySet().contains(key);
+        int hash = hash(key);
+        migrate(hash);
+        return getEntry(hash, key) != null;
     }
 
     @Override
     public boolean containsValue(V value) {
-        return values().contains(value);
+        completeMigration();
+        for (HashMapEntry<K, V> first : buckets) {
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                if (value == hashMapEntry.value || value != null && value.equals(hashMapEntry.value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     @Override
     public V get(K key) {
-        int hash = key == null ? 0 : hash(key.hashCode());
-        int index = indexFor(hash);
-
-        HashMapEntry<K, V> hashMapEntry = buckets[index];
-
-        while (hashMapEntry != null) {
-            if (key == null ? hashMapEntry.key == null : key.equals(hashMapEntry.getKey())) {
-                return hashMapEntry.getValue();
-            }
-            hashMapEntry = hashMapEntry.next;
+        int hash = hash(key);
+        migrate(hash);
+        HashMapEntry<K, V> hashMapEntry = getEntry(hash, key);
+        if (statistics != null) {
+            statistics.gets.record(probeLength(hash, hashMapEntry));
         }
-        return null;
+        return hashMapEntry == null ? null : hashMapEntry.value;
     }
 
     @Override
     public V put(K key, V value) {
-        if (key == null) {
-            return putForNullKey(value);
+        int hash = hash(key);
+        migrate(hash);
+        if (statistics != null) {
+            statistics.puts.record(probeLength(hash, getEntry(hash, key)));
+        }
+        int index = indexFor(hash);
+        HashMapEntry<K, V> first = buckets[index];
+        HashMapEntry<K, V> tail = null;
+        int chainLength = 0;
+
+        if (first instanceof TreeEntry) {
+            HashMapEntry<K, V> hashMapEntry = ((TreeEntry<K, V>) first).find(hash, key, hashingStrategy);
+            if (hashMapEntry != null) {
+                return hashMapEntry.setValue(value);
+            }
         } else {
-            int hash = hash(key.hashCode());
-            int index = indexFor(hash);
-            HashMapEntry<K, V> hashMapEntry = buckets[index];
-            while (hashMapEntry != null) {
-                if (key.equals(hashMapEntry.getKey())) {
-                    hashMapEntry.hash = hash;
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                if (hashMapEntry.hash == hash && equal(key, hashMapEntry.key)) {
                     return hashMapEntry.setValue(value);
                 }
-                hashMapEntry = hashMapEntry.next;
+                tail = hashMapEntry;
+                chainLength++;
             }
-            resize();
-            index = indexFor(hash);
-            addEntry(key, value, hash, index);
-            size++;
-            return null;
         }
+
+        if (resize()) {
+            migrate(hash);
+            addEntry(key, value, hash, indexFor(hash));
+        } else if (first instanceof TreeEntry) {
+            putTreeEntry(index, new TreeEntry<>(key, value, hash));
+        } else {
+            appendEntry(index, tail, chainLength, new HashMapEntry<>(key, value, hash));
+        }
+        size++;
+        return null;
     }
 
     @Override
     public V remove(K key) {
-        int hash = key == null ? 0 : hash(key.hashCode());
-        int index = indexFor(hash);
-        HashMapEntry<K, V> hashMapEntry = buckets[index];
-
-        if (hashMapEntry == null) {
-            return null;
+        int hash = hash(key);
+        migrate(hash);
+        if (statistics != null) {
+            statistics.removes.record(probeLength(hash, getEntry(hash, key)));
         }
+        int index = indexFor(hash);
+        HashMapEntry<K, V> first = buckets[index];
 
-        HashMapEntry<K, V> previous;
-        HashMapEntry<K, V> next = hashMapEntry.next;
-
-        if (key == null ? hashMapEntry.key == null : key.equals(hashMapEntry.key)) {
-            V result = hashMapEntry.getValue();
-            buckets[index] = next;
+        if (first instanceof TreeEntry) {
+            TreeEntry<K, V> treeEntry = ((TreeEntry<K, V>) first).find(hash, key, hashingStrategy);
+            if (treeEntry == null) {
+                return null;
+            }
+            removeTreeEntry(index, treeEntry);
             size--;
-            return result;
+            return treeEntry.value;
         }
 
-        previous = hashMapEntry;
-        hashMapEntry = next;
-        next = next.next;
-
-        while (hashMapEntry != null) {
-            if (key == null ? hashMapEntry.key == null : key.equals(hashMapEntry.key)) {
-                V result = hashMapEntry.getValue();
-                previous.next = next;
+        HashMapEntry<K, V> previous = null;
+        for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+            if (hashMapEntry.hash == hash && equal(key, hashMapEntry.key)) {
+                if (previous == null) {
+                    buckets[index] = hashMapEntry.next;
+                } else {
+                    previous.next = hashMapEntry.next;
+                }
                 size--;
-                return result;
+                return hashMapEntry.value;
             }
             previous = hashMapEntry;
-            hashMapEntry = next;
-            next = next == null ? null : next.next;
         }
         return null;
     }
@@ -153,6 +245,8 @@ public class HashMap<K, V> implements Map<K, V> {
 
     @Override
     public void clear() {
+        oldBuckets = null;
+        migrationIndex = 0;
         if (size > 0) {
             size = 0;
             for (int i = 0; i < buckets.length; i++) {
@@ -161,49 +255,336 @@ public class HashMap<K, V> implements Map<K, V> {
         }
     }
 
+    /**
+     * Returns a view of the keys; the same instance is returned on every call.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public Set<K> keySet() {
-        return new AbstractSet<K>() {
-            @Override
-            public Iterator<K> iterator() {
-                return new KeysIterator<>(buckets);
-            }
+        if (keySet == null) {
+            keySet = new AbstractSet<K>() {
+                @Override
+                public Iterator<K> iterator() {
+                    completeMigration();
+                    return new KeysIterator<>(buckets);
+                }
 
-            @Override
-            public int size() {
-                return size;
-            }
-        };
+                @Override
+                public Spliterator<K> spliterator() {
+                    completeMigration();
+                    return new KeySpliterator<>(buckets, 0, buckets.length, size, true);
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsKey((K) o);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return keySet;
     }
 
+    /**
+     * Returns a view of the values; the same instance is returned on every call.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public Collection<V> values() {
-        return new AbstractCollection<V>() {
-            @Override
-            public Iterator<V> iterator() {
-                return new ValuesIterator<>(buckets);
-            }
+        if (values == null) {
+            values = new AbstractCollection<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    completeMigration();
+                    return new ValuesIterator<>(buckets);
+                }
 
-            @Override
-            public int size() {
-                return size;
-            }
-        };
+                @Override
+                public Spliterator<V> spliterator() {
+                    completeMigration();
+                    return new ValueSpliterator<>(buckets, 0, buckets.length, size, true);
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsValue((V) o);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return values;
     }
 
+    /**
+     * Returns a view of the entries; the same instance is returned on every call.
+     */
     @Override
     public Set<? extends Map.Entry<K, V>> entrySet() {
-        return new AbstractSet<HashMapEntry<K, V>>() {
-            @Override
-            public Iterator iterator() {
-                return new EntryIterator<>(buckets);
+        if (entrySet == null) {
+            entrySet = new AbstractSet<HashMapEntry<K, V>>() {
+                @Override
+                public Iterator<HashMapEntry<K, V>> iterator() {
+                    completeMigration();
+                    return new EntryIterator<>(buckets);
+                }
+
+                @Override
+                public Spliterator<HashMapEntry<K, V>> spliterator() {
+                    completeMigration();
+                    return new EntrySpliterator<>(buckets, 0, buckets.length, size, true);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns a sequential stream of the entries.
+     */
+    public Stream<? extends Map.Entry<K, V>> stream() {
+        completeMigration();
+        return StreamSupport.stream(new EntrySpliterator<>(buckets, 0, buckets.length, size, true), false);
+    }
+
+    /**
+     * Returns a parallel stream of the entries, split by ranges of buckets.
+     */
+    public Stream<? extends Map.Entry<K, V>> parallelStream() {
+        completeMigration();
+        return StreamSupport.stream(new EntrySpliterator<>(buckets, 0, buckets.length, size, true), true);
+    }
+
+    /**
+     * Passes every entry to {@code action}, walking the buckets without allocating. The map must not be
+     * modified by {@code action}.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        completeMigration();
+        for (HashMapEntry<K, V> first : buckets) {
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                action.accept(hashMapEntry.key, hashMapEntry.value);
+            }
+        }
+    }
+
+    public void forEachKey(Consumer<? super K> action) {
+        completeMigration();
+        for (HashMapEntry<K, V> first : buckets) {
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                action.accept(hashMapEntry.key);
+            }
+        }
+    }
+
+    public void forEachValue(Consumer<? super V> action) {
+        completeMigration();
+        for (HashMapEntry<K, V> first : buckets) {
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                action.accept(hashMapEntry.value);
+            }
+        }
+    }
+
+    /**
+     * Replaces every value with the result of {@code function} applied to its entry.
+     */
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        completeMigration();
+        for (HashMapEntry<K, V> first : buckets) {
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                hashMapEntry.value = function.apply(hashMapEntry.key, hashMapEntry.value);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry matching {@code filter} in a single pass over the buckets. Chains are unlinked in
+     * place; a tree bucket is unlinked along its {@code next} list and then rebuilt once.
+     *
+     * @return whether any entry was removed
+     */
+    public boolean removeIf(BiPredicate<? super K, ? super V> filter) {
+        completeMigration();
+        int oldSize = size;
+        for (int i = 0; i < buckets.length; i++) {
+            boolean tree = buckets[i] instanceof TreeEntry;
+            HashMapEntry<K, V> previous = null;
+            int kept = 0;
+            int removed = 0;
+            for (HashMapEntry<K, V> hashMapEntry = buckets[i]; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                if (filter.test(hashMapEntry.key, hashMapEntry.value)) {
+                    if (previous == null) {
+                        buckets[i] = hashMapEntry.next;
+                    } else {
+                        previous.next = hashMapEntry.next;
+                    }
+                    removed++;
+                } else {
+                    previous = hashMapEntry;
+                    kept++;
+                }
+            }
+            size -= removed;
+            if (tree && removed > 0 && kept > 0) {
+                rebuildTree(i, kept);
             }
+        }
+        return size != oldSize;
+    }
 
-            @Override
-            public int size() {
-                return size;
+    /**
+     * Turns collection of operation statistics on or off. Enabling resets the counters. While enabled, every
+     * {@code get}, {@code put} and {@code remove} records its probe length, which costs about one more lookup,
+     * and resizes are timed.
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        statistics = enabled ? new Statistics() : null;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    /**
+     * Returns the current statistics. The table shape is computed by walking all buckets; during an incremental
+     * resize it only covers the new table.
+     */
+    public HashMapStats getStats() {
+        HashMapEntry<K, V>[] buckets = this.buckets;
+        long[] chainLengthHistogram = new long[CHAIN_HISTOGRAM_SIZE];
+        int treeBuckets = 0;
+        for (HashMapEntry<K, V> first : buckets) {
+            int chainLength = 0;
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                chainLength++;
+            }
+            chainLengthHistogram[Math.min(chainLength, CHAIN_HISTOGRAM_SIZE - 1)]++;
+            if (first instanceof TreeEntry) {
+                treeBuckets++;
             }
-        };
+        }
+
+        Statistics statistics = this.statistics == null ? new Statistics() : this.statistics;
+        return new HashMapStats(size, buckets.length, treeBuckets, chainLengthHistogram, statistics.gets.copy(),
+                statistics.puts.copy(), statistics.removes.copy(), statistics.resizes, statistics.resizeNanos);
+    }
+
+    /**
+     * Returns an MXBean whose attributes are read from a fresh {@link #getStats()} on every access, to be
+     * registered with an {@code MBeanServer}. The map is not thread-safe, so values read while it is being
+     * modified are approximate.
+     */
+    public HashMapStatsMXBean getStatsMXBean() {
+        return new StatsMXBean();
+    }
+
+    /**
+     * Writes the load factor, capacity and entries of this map to {@code channel}, bucket by bucket.
+     * Each entry takes a flags byte followed by the encoded key and value; {@code null}s are only flagged.
+     */
+    public void writeSnapshot(WritableByteChannel channel, Codec<? super K> keyCodec,
+                              Codec<? super V> valueCodec) throws IOException {
+        completeMigration();
+        SnapshotWriter out = new SnapshotWriter(channel);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeDouble(loadFactor);
+        out.writeInt(capacity);
+        out.writeInt(size);
+        for (HashMapEntry<K, V> first : buckets) {
+            for (HashMapEntry<K, V> hashMapEntry = first; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                out.writeByte((hashMapEntry.key == null ? NULL_KEY : 0)
+                        | (hashMapEntry.value == null ? NULL_VALUE : 0));
+                if (hashMapEntry.key != null) {
+                    out.write(keyCodec, hashMapEntry.key);
+                }
+                if (hashMapEntry.value != null) {
+                    out.write(valueCodec, hashMapEntry.value);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Restores a map written by {@link #writeSnapshot}. The table is allocated with the snapshot's capacity and
+     * entries are appended to the tails of their buckets, which arrive together, without lookups or resizes.
+     * Hashes are recomputed, so keys only need consistent {@code hashCode}s within each JVM.
+     *
+     * @throws IOException if the stream ends early or is not a snapshot of a map
+     */
+    public static <K, V> HashMap<K, V> readSnapshot(ReadableByteChannel channel, Codec<K> keyCodec,
+                                                    Codec<V> valueCodec) throws IOException {
+        return readSnapshot(channel, keyCodec, valueCodec, HashingStrategy.DEFAULT, false);
+    }
+
+    /**
+     * Same as {@link #readSnapshot(ReadableByteChannel, Codec, Codec)}, restoring into a map with the given
+     * hashing strategy and, if {@code seeded}, a new random seed.
+     */
+    public static <K, V> HashMap<K, V> readSnapshot(ReadableByteChannel channel, Codec<K> keyCodec,
+                                                    Codec<V> valueCodec, HashingStrategy<? super K> hashingStrategy,
+                                                    boolean seeded) throws IOException {
+        SnapshotReader in = new SnapshotReader(channel);
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a HashMap snapshot");
+        }
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported HashMap snapshot version " + version);
+        }
+        double loadFactor = in.readDouble();
+        int capacity = in.readInt();
+        int size = in.readInt();
+        if (!(loadFactor > 0 && loadFactor <= 1) || capacity <= 0 || capacity > MAXIMUM_CAPACITY
+                || Integer.bitCount(capacity) != 1 || size < 0) {
+            throw new IOException("Corrupted HashMap snapshot");
+        }
+
+        HashMap<K, V> map = new HashMap<>(capacity, loadFactor, false, hashingStrategy, seeded);
+        int index = -1;
+        HashMapEntry<K, V> tail = null;
+        int chainLength = 0;
+        for (int i = 0; i < size; i++) {
+            int flags = in.readByte();
+            K key = (flags & NULL_KEY) != 0 ? null : in.read(keyCodec);
+            V value = (flags & NULL_VALUE) != 0 ? null : in.read(valueCodec);
+            int hash = map.hash(key);
+            if (map.indexFor(hash) != index) {
+                index = map.indexFor(hash);
+                tail = null;
+                chainLength = 0;
+                for (HashMapEntry<K, V> hashMapEntry = map.buckets[index]; hashMapEntry != null;
+                     hashMapEntry = hashMapEntry.next) {
+                    tail = hashMapEntry;
+                    chainLength++;
+                }
+            }
+
+            if (map.buckets[index] instanceof TreeEntry) {
+                map.putTreeEntry(index, new TreeEntry<>(key, value, hash));
+            } else {
+                HashMapEntry<K, V> hashMapEntry = new HashMapEntry<>(key, value, hash);
+                map.appendEntry(index, tail, chainLength, hashMapEntry);
+                tail = hashMapEntry;
+                chainLength++;
+            }
+        }
+        map.size = size;
+        return map;
     }
 
     private int getCapacity(int capacity) {
@@ -214,71 +595,432 @@ public class HashMap<K, V> implements Map<K, V> {
         return result;
     }
 
-    private void resize() {
+    @SuppressWarnings("unchecked")
+    private static <K, V> HashMapEntry<K, V>[] newBuckets(int capacity) {
+        return (HashMapEntry<K, V>[]) new HashMapEntry<?, ?>[capacity];
+    }
+
+    private boolean resize() {
         if (size + 1 >= threshold) {
-            int newCapacity = capacity << 1;
+            long start = statistics != null ? System.nanoTime() : 0;
+            completeMigration();
+
+            int oldCapacity = capacity;
             HashMapEntry<K, V>[] oldBuckets = buckets;
-            buckets = new HashMapEntry[newCapacity];
-            size = 0;
-            transfer(oldBuckets);
-            capacity = newCapacity;
+            buckets = newBuckets(oldCapacity << 1);
+            capacity = buckets.length;
             threshold = (int) (capacity * loadFactor);
+
+            if (incrementalResize) {
+                this.oldBuckets = oldBuckets;
+                this.migrationIndex = 0;
+            } else {
+                for (int i = 0; i < oldCapacity; i++) {
+                    split(oldBuckets[i], i, oldCapacity);
+                }
+            }
+            if (statistics != null) {
+                statistics.resizes++;
+                statistics.resizeNanos += System.nanoTime() - start;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void migrate(int hash) {
+        if (oldBuckets != null) {
+            migrateBucket(hash & (oldBuckets.length - 1));
+            migrateBuckets(MIGRATION_STEP);
+        }
+    }
+
+    private void completeMigration() {
+        if (oldBuckets != null) {
+            migrateBuckets(oldBuckets.length);
+        }
+    }
+
+    private void migrateBuckets(int count) {
+        int end = Math.min(migrationIndex + count, oldBuckets.length);
+        for (; migrationIndex < end; migrationIndex++) {
+            migrateBucket(migrationIndex);
+        }
+        if (migrationIndex == oldBuckets.length) {
+            oldBuckets = null;
+            migrationIndex = 0;
         }
     }
 
-    private void transfer(HashMapEntry<K, V>[] oldBuckets) {
-        for (HashMapEntry<K, V> hashMapEntry : oldBuckets) {
-            while (hashMapEntry != null) {
-                put(hashMapEntry.key, hashMapEntry.value);
-                hashMapEntry = hashMapEntry.next;
+    private void migrateBucket(int index) {
+        HashMapEntry<K, V> hashMapEntry = oldBuckets[index];
+        if (hashMapEntry != null) {
+            oldBuckets[index] = null;
+            split(hashMapEntry, index, oldBuckets.length);
+        }
+    }
+
+    /**
+     * Moves the chain of old bucket {@code index} to buckets {@code index} and {@code index + oldCapacity} of the
+     * new table, keeping both the relative order and the entry instances. Tree bins are split along their
+     * {@code next} links and then rebuilt or turned back into chains, depending on the size of each half.
+     */
+    private void split(HashMapEntry<K, V> hashMapEntry, int index, int oldCapacity) {
+        HashMapEntry<K, V> loHead = null;
+        HashMapEntry<K, V> loTail = null;
+        HashMapEntry<K, V> hiHead = null;
+        HashMapEntry<K, V> hiTail = null;
+        int loCount = 0;
+        int hiCount = 0;
+
+        while (hashMapEntry != null) {
+            HashMapEntry<K, V> next = hashMapEntry.next;
+            hashMapEntry.next = null;
+            if ((hashMapEntry.hash & oldCapacity) == 0) {
+                if (loTail == null) {
+                    loHead = hashMapEntry;
+                } else {
+                    loTail.next = hashMapEntry;
+                }
+                loTail = hashMapEntry;
+                loCount++;
+            } else {
+                if (hiTail == null) {
+                    hiHead = hashMapEntry;
+                } else {
+                    hiTail.next = hashMapEntry;
+                }
+                hiTail = hashMapEntry;
+                hiCount++;
             }
+            hashMapEntry = next;
+        }
+
+        buckets[index] = loHead;
+        buckets[index + oldCapacity] = hiHead;
+        if (loHead instanceof TreeEntry) {
+            rebuildTree(index, loCount);
+        }
+        if (hiHead instanceof TreeEntry) {
+            rebuildTree(index + oldCapacity, hiCount);
         }
     }
 
+    /**
+     * Returns how many entries a lookup of {@code hash} looks at to find {@code found}, or to fail if it is
+     * {@code null}.
+     */
+    private int probeLength(int hash, HashMapEntry<K, V> found) {
+        HashMapEntry<K, V> hashMapEntry = buckets[indexFor(hash)];
+        int probeLength = 0;
+        if (hashMapEntry instanceof TreeEntry) {
+            if (found != null) {
+                for (TreeEntry<K, V> treeEntry = (TreeEntry<K, V>) found; treeEntry != null;
+                     treeEntry = treeEntry.parent) {
+                    probeLength++;
+                }
+            } else {
+                for (TreeEntry<K, V> treeEntry = (TreeEntry<K, V>) hashMapEntry; treeEntry != null;
+                     treeEntry = treeEntry.hash > hash ? treeEntry.left : treeEntry.right) {
+                    probeLength++;
+                }
+            }
+            return probeLength;
+        }
+        for (; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+            probeLength++;
+            if (hashMapEntry == found) {
+                break;
+            }
+        }
+        return probeLength;
+    }
+
+    private HashMapEntry<K, V> getEntry(int hash, K key) {
+        HashMapEntry<K, V> hashMapEntry = buckets[indexFor(hash)];
+        if (hashMapEntry instanceof TreeEntry) {
+            return ((TreeEntry<K, V>) hashMapEntry).find(hash, key, hashingStrategy);
+        }
+        while (hashMapEntry != null) {
+            if (hashMapEntry.hash == hash && equal(key, hashMapEntry.key)) {
+                return hashMapEntry;
+            }
+            hashMapEntry = hashMapEntry.next;
+        }
+        return null;
+    }
+
     private void addEntry(K key, V value, int hash, int index) {
         HashMapEntry<K, V> hashMapEntry = buckets[index];
-        if (hashMapEntry == null) {
-            buckets[index] = new HashMapEntry<>(key, value, hash);
+        if (hashMapEntry instanceof TreeEntry) {
+            putTreeEntry(index, new TreeEntry<>(key, value, hash));
+            return;
+        }
+
+        HashMapEntry<K, V> tail = null;
+        int chainLength = 0;
+        while (hashMapEntry != null) {
+            tail = hashMapEntry;
+            chainLength++;
+            hashMapEntry = hashMapEntry.next;
+        }
+        appendEntry(index, tail, chainLength, new HashMapEntry<>(key, value, hash));
+    }
+
+    private void appendEntry(int index, HashMapEntry<K, V> tail, int chainLength, HashMapEntry<K, V> hashMapEntry) {
+        if (tail == null) {
+            buckets[index] = hashMapEntry;
         } else {
-            while (hashMapEntry.next != null) {
-                hashMapEntry = hashMapEntry.next;
+            tail.next = hashMapEntry;
+        }
+        if (chainLength + 1 >= TREEIFY_THRESHOLD && capacity >= MIN_TREEIFY_CAPACITY) {
+            treeify(index);
+        }
+    }
+
+    private void treeify(int index) {
+        TreeEntry<K, V> head = null;
+        TreeEntry<K, V> tail = null;
+        for (HashMapEntry<K, V> hashMapEntry = buckets[index]; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+            TreeEntry<K, V> treeEntry = new TreeEntry<>(hashMapEntry.key, hashMapEntry.value, hashMapEntry.hash);
+            if (tail == null) {
+                head = treeEntry;
+            } else {
+                tail.next = treeEntry;
+                treeEntry.prev = tail;
             }
-            hashMapEntry.next = new HashMapEntry<>(key, value, hash);
+            tail = treeEntry;
         }
+        buckets[index] = head;
+        buildTree(index);
     }
 
-    private V putForNullKey(V value) {
-        int index = 0;
-        HashMapEntry<K, V> hashMapEntry = buckets[index];
-        while (hashMapEntry != null) {
-            if (hashMapEntry.key == null) {
-                V result = hashMapEntry.getValue();
-                hashMapEntry.setValue(value);
-                return result;
+    private void rebuildTree(int index, int count) {
+        if (count <= UNTREEIFY_THRESHOLD) {
+            untreeify(index);
+        } else {
+            TreeEntry<K, V> previous = null;
+            for (HashMapEntry<K, V> hashMapEntry = buckets[index]; hashMapEntry != null;
+                 hashMapEntry = hashMapEntry.next) {
+                ((TreeEntry<K, V>) hashMapEntry).prev = previous;
+                previous = (TreeEntry<K, V>) hashMapEntry;
             }
-            hashMapEntry = hashMapEntry.next;
+            buildTree(index);
         }
+    }
 
-        resize();
-        addEntry(null, value, 0, 0);
-        size++;
-        return null;
+    /**
+     * Links the {@code next} list of tree entries in bucket {@code index} into a fresh red-black tree.
+     */
+    private void buildTree(int index) {
+        TreeEntry<K, V> root = null;
+        for (HashMapEntry<K, V> hashMapEntry = buckets[index]; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+            TreeEntry<K, V> treeEntry = (TreeEntry<K, V>) hashMapEntry;
+            treeEntry.left = null;
+            treeEntry.right = null;
+            if (root == null) {
+                treeEntry.parent = null;
+                treeEntry.red = false;
+                root = treeEntry;
+            } else {
+                root = TreeEntry.insert(root, treeEntry, hashingStrategy);
+            }
+        }
+        moveRootToFront(index, root);
     }
 
-    private int hash(int hashCode) {
-        hashCode ^= (hashCode >>> 20) ^ (hashCode >>> 12);
-        return hashCode ^ (hashCode >>> 7) ^ (hashCode >>> 4);
+    private void untreeify(int index) {
+        HashMapEntry<K, V> head = null;
+        HashMapEntry<K, V> tail = null;
+        for (HashMapEntry<K, V> hashMapEntry = buckets[index]; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+            HashMapEntry<K, V> plain = new HashMapEntry<>(hashMapEntry.key, hashMapEntry.value, hashMapEntry.hash);
+            if (tail == null) {
+                head = plain;
+            } else {
+                tail.next = plain;
+            }
+            tail = plain;
+        }
+        buckets[index] = head;
+    }
+
+    private void putTreeEntry(int index, TreeEntry<K, V> treeEntry) {
+        TreeEntry<K, V> root = (TreeEntry<K, V>) buckets[index];
+        treeEntry.next = root.next;
+        treeEntry.prev = root;
+        if (root.next != null) {
+            ((TreeEntry<K, V>) root.next).prev = treeEntry;
+        }
+        root.next = treeEntry;
+        moveRootToFront(index, TreeEntry.insert(root, treeEntry, hashingStrategy));
+    }
+
+    private void removeTreeEntry(int index, TreeEntry<K, V> treeEntry) {
+        TreeEntry<K, V> next = (TreeEntry<K, V>) treeEntry.next;
+        if (treeEntry.prev == null) {
+            buckets[index] = next;
+        } else {
+            treeEntry.prev.next = next;
+        }
+        if (next != null) {
+            next.prev = treeEntry.prev;
+        }
+        if (buckets[index] == null) {
+            return;
+        }
+
+        TreeEntry<K, V> root = treeEntry.root();
+        if (root.right == null || root.left == null || root.left.left == null) {
+            untreeify(index);
+        } else {
+            moveRootToFront(index, TreeEntry.delete(root, treeEntry));
+        }
+    }
+
+    private void moveRootToFront(int index, TreeEntry<K, V> root) {
+        TreeEntry<K, V> first = (TreeEntry<K, V>) buckets[index];
+        if (root != first) {
+            root.prev.next = root.next;
+            if (root.next != null) {
+                ((TreeEntry<K, V>) root.next).prev = root.prev;
+            }
+            root.next = first;
+            root.prev = null;
+            first.prev = root;
+            buckets[index] = root;
+        }
+    }
+
+    private int hash(K key) {
+        return key == null ? 0 : hash(hashingStrategy.hashCode(key) ^ seed);
+    }
+
+    /**
+     * Finalizer of MurmurHash3: every bit of {@code hashCode} affects the low bits used as the bucket index.
+     */
+    private static int hash(int hashCode) {
+        hashCode ^= hashCode >>> 16;
+        hashCode *= 0x85EBCA6B;
+        hashCode ^= hashCode >>> 13;
+        hashCode *= 0xC2B2AE35;
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    private boolean equal(K key1, K key2) {
+        return equal(hashingStrategy, key1, key2);
+    }
+
+    private static <K> boolean equal(HashingStrategy<? super K> hashingStrategy, K key1, K key2) {
+        return key1 == key2 || key1 != null && key2 != null && hashingStrategy.equals(key1, key2);
     }
 
     private int indexFor(int hash) {
         return hash & (buckets.length - 1);
     }
 
-    private static final class HashMapEntry<K, V> implements Map.Entry<K, V> {
-        private final K key;
-        private V value;
-        private int hash;
-        private HashMapEntry<K, V> next;
+    private static final class Statistics {
+        private final HashMapStats.Probes gets = new HashMapStats.Probes();
+        private final HashMapStats.Probes puts = new HashMapStats.Probes();
+        private final HashMapStats.Probes removes = new HashMapStats.Probes();
+        private long resizes;
+        private long resizeNanos;
+    }
+
+    /**
+     * Reads every attribute from a fresh {@link #getStats()}.
+     */
+    private final class StatsMXBean implements HashMapStatsMXBean {
+        @Override
+        public int getSize() {
+            return getStats().getSize();
+        }
+
+        @Override
+        public int getCapacity() {
+            return getStats().getCapacity();
+        }
+
+        @Override
+        public int getOccupiedBuckets() {
+            return getStats().getOccupiedBuckets();
+        }
+
+        @Override
+        public int getTreeBuckets() {
+            return getStats().getTreeBuckets();
+        }
+
+        @Override
+        public int getMaxChainLength() {
+            return getStats().getMaxChainLength();
+        }
+
+        @Override
+        public long[] getChainLengthHistogram() {
+            return getStats().getChainLengthHistogram();
+        }
+
+        @Override
+        public long getGetCount() {
+            return getStats().getGetCount();
+        }
+
+        @Override
+        public double getAverageGetProbeLength() {
+            return getStats().getAverageGetProbeLength();
+        }
+
+        @Override
+        public int getMaxGetProbeLength() {
+            return getStats().getMaxGetProbeLength();
+        }
+
+        @Override
+        public long getPutCount() {
+            return getStats().getPutCount();
+        }
+
+        @Override
+        public double getAveragePutProbeLength() {
+            return getStats().getAveragePutProbeLength();
+        }
+
+        @Override
+        public int getMaxPutProbeLength() {
+            return getStats().getMaxPutProbeLength();
+        }
+
+        @Override
+        public long getRemoveCount() {
+            return getStats().getRemoveCount();
+        }
+
+        @Override
+        public double getAverageRemoveProbeLength() {
+            return getStats().getAverageRemoveProbeLength();
+        }
+
+        @Override
+        public int getMaxRemoveProbeLength() {
+            return getStats().getMaxRemoveProbeLength();
+        }
+
+        @Override
+        public long getResizeCount() {
+            return getStats().getResizeCount();
+        }
+
+        @Override
+        public long getResizeNanos() {
+            return getStats().getResizeNanos();
+        }
+    }
+
+    private static class HashMapEntry<K, V> implements Map.Entry<K, V> {
+        final K key;
+        V value;
+        final int hash;
+        HashMapEntry<K, V> next;
 
         private HashMapEntry(K key, V value, int hash) {
             this.key = key;
@@ -304,6 +1046,359 @@ public class HashMap<K, V> implements Map<K, V> {
         }
     }
 
+    /**
+     * Entry of a bucket holding at least {@link #TREEIFY_THRESHOLD} entries. Such entries form a red-black tree
+     * ordered by hash, then by natural order when keys are mutually comparable and the map uses the default
+     * hashing strategy. The bucket still points to a
+     * {@code next} list of all its entries, starting with the tree root, so iteration does not care about trees.
+     */
+    private static final class TreeEntry<K, V> extends HashMapEntry<K, V> {
+        private TreeEntry<K, V> parent;
+        private TreeEntry<K, V> left;
+        private TreeEntry<K, V> right;
+        private TreeEntry<K, V> prev;
+        private boolean red;
+
+        private TreeEntry(K key, V value, int hash) {
+            super(key, value, hash);
+        }
+
+        private TreeEntry<K, V> root() {
+            TreeEntry<K, V> root = this;
+            while (root.parent != null) {
+                root = root.parent;
+            }
+            return root;
+        }
+
+        private TreeEntry<K, V> find(int hash, K key, HashingStrategy<? super K> hashingStrategy) {
+            Class<?> keyClass = hashingStrategy == HashingStrategy.DEFAULT ? comparableClassFor(key) : null;
+            TreeEntry<K, V> treeEntry = this;
+            while (treeEntry != null) {
+                if (treeEntry.hash > hash) {
+                    treeEntry = treeEntry.left;
+                } else if (treeEntry.hash < hash) {
+                    treeEntry = treeEntry.right;
+                } else if (equal(hashingStrategy, key, treeEntry.key)) {
+                    return treeEntry;
+                } else if (treeEntry.left == null) {
+                    treeEntry = treeEntry.right;
+                } else if (treeEntry.right == null) {
+                    treeEntry = treeEntry.left;
+                } else {
+                    int direction = compareComparables(keyClass, key, treeEntry.key);
+                    if (direction != 0) {
+                        treeEntry = direction < 0 ? treeEntry.left : treeEntry.right;
+                    } else {
+                        TreeEntry<K, V> result = treeEntry.right.find(hash, key, hashingStrategy);
+                        if (result != null) {
+                            return result;
+                        }
+                        treeEntry = treeEntry.left;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static <K, V> TreeEntry<K, V> insert(TreeEntry<K, V> root, TreeEntry<K, V> treeEntry,
+                                                     HashingStrategy<? super K> hashingStrategy) {
+            Class<?> keyClass = hashingStrategy == HashingStrategy.DEFAULT ? comparableClassFor(treeEntry.key) : null;
+            TreeEntry<K, V> parent = root;
+            while (true) {
+                int direction;
+                if (parent.hash != treeEntry.hash) {
+                    direction = parent.hash > treeEntry.hash ? -1 : 1;
+                } else {
+                    direction = compareComparables(keyClass, treeEntry.key, parent.key);
+                    if (direction == 0) {
+                        direction = tieBreakOrder(treeEntry.key, parent.key);
+                    }
+                }
+
+                TreeEntry<K, V> child = direction < 0 ? parent.left : parent.right;
+                if (child == null) {
+                    if (direction < 0) {
+                        parent.left = treeEntry;
+                    } else {
+                        parent.right = treeEntry;
+                    }
+                    treeEntry.parent = parent;
+                    return balanceInsertion(root, treeEntry);
+                }
+                parent = child;
+            }
+        }
+
+        private static <K, V> TreeEntry<K, V> delete(TreeEntry<K, V> root, TreeEntry<K, V> treeEntry) {
+            if (treeEntry.left != null && treeEntry.right != null) {
+                TreeEntry<K, V> successor = treeEntry.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                swapWithSuccessor(treeEntry, successor);
+                if (root == treeEntry) {
+                    root = successor;
+                }
+            }
+
+            TreeEntry<K, V> replacement = treeEntry.left != null ? treeEntry.left : treeEntry.right;
+            if (replacement != null) {
+                replace(treeEntry, replacement);
+                if (treeEntry.parent == null) {
+                    root = replacement;
+                }
+                treeEntry.parent = null;
+                treeEntry.left = null;
+                treeEntry.right = null;
+                if (!treeEntry.red) {
+                    root = balanceDeletion(root, replacement);
+                }
+            } else if (treeEntry.parent == null) {
+                return null;
+            } else {
+                if (!treeEntry.red) {
+                    root = balanceDeletion(root, treeEntry);
+                }
+                replace(treeEntry, null);
+                treeEntry.parent = null;
+            }
+            return root;
+        }
+
+        /**
+         * Exchanges the tree positions and colors of an entry and its in-order successor. Keys are final and
+         * entries may be referenced from outside, so the entries themselves have to move.
+         */
+        private static <K, V> void swapWithSuccessor(TreeEntry<K, V> treeEntry, TreeEntry<K, V> successor) {
+            boolean red = successor.red;
+            successor.red = treeEntry.red;
+            treeEntry.red = red;
+
+            TreeEntry<K, V> successorRight = successor.right;
+            TreeEntry<K, V> left = treeEntry.left;
+            TreeEntry<K, V> parent = treeEntry.parent;
+
+            if (successor == treeEntry.right) {
+                successor.right = treeEntry;
+                treeEntry.parent = successor;
+            } else {
+                TreeEntry<K, V> successorParent = successor.parent;
+                successorParent.left = treeEntry;
+                treeEntry.parent = successorParent;
+                successor.right = treeEntry.right;
+                successor.right.parent = successor;
+            }
+
+            treeEntry.left = null;
+            treeEntry.right = successorRight;
+            if (successorRight != null) {
+                successorRight.parent = treeEntry;
+            }
+
+            successor.left = left;
+            left.parent = successor;
+            successor.parent = parent;
+            if (parent != null) {
+                if (parent.left == treeEntry) {
+                    parent.left = successor;
+                } else {
+                    parent.right = successor;
+                }
+            }
+        }
+
+        private static <K, V> void replace(TreeEntry<K, V> treeEntry, TreeEntry<K, V> replacement) {
+            TreeEntry<K, V> parent = treeEntry.parent;
+            if (replacement != null) {
+                replacement.parent = parent;
+            }
+            if (parent != null) {
+                if (parent.left == treeEntry) {
+                    parent.left = replacement;
+                } else {
+                    parent.right = replacement;
+                }
+            }
+        }
+
+        private static <K, V> TreeEntry<K, V> balanceInsertion(TreeEntry<K, V> root, TreeEntry<K, V> treeEntry) {
+            treeEntry.red = true;
+            while (treeEntry.parent != null && treeEntry.parent.red) {
+                TreeEntry<K, V> parent = treeEntry.parent;
+                TreeEntry<K, V> grandparent = parent.parent;
+                if (parent == grandparent.left) {
+                    TreeEntry<K, V> uncle = grandparent.right;
+                    if (isRed(uncle)) {
+                        parent.red = false;
+                        uncle.red = false;
+                        grandparent.red = true;
+                        treeEntry = grandparent;
+                    } else {
+                        if (treeEntry == parent.right) {
+                            treeEntry = parent;
+                            root = rotateLeft(root, treeEntry);
+                            parent = treeEntry.parent;
+                        }
+                        parent.red = false;
+                        grandparent.red = true;
+                        root = rotateRight(root, grandparent);
+                    }
+                } else {
+                    TreeEntry<K, V> uncle = grandparent.left;
+                    if (isRed(uncle)) {
+                        parent.red = false;
+                        uncle.red = false;
+                        grandparent.red = true;
+                        treeEntry = grandparent;
+                    } else {
+                        if (treeEntry == parent.left) {
+                            treeEntry = parent;
+                            root = rotateRight(root, treeEntry);
+                            parent = treeEntry.parent;
+                        }
+                        parent.red = false;
+                        grandparent.red = true;
+                        root = rotateLeft(root, grandparent);
+                    }
+                }
+            }
+            root.red = false;
+            return root;
+        }
+
+        private static <K, V> TreeEntry<K, V> balanceDeletion(TreeEntry<K, V> root, TreeEntry<K, V> treeEntry) {
+            while (treeEntry != root && !treeEntry.red) {
+                TreeEntry<K, V> parent = treeEntry.parent;
+                if (treeEntry == parent.left) {
+                    TreeEntry<K, V> sibling = parent.right;
+                    if (sibling.red) {
+                        sibling.red = false;
+                        parent.red = true;
+                        root = rotateLeft(root, parent);
+                        sibling = parent.right;
+                    }
+                    if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                        sibling.red = true;
+                        treeEntry = parent;
+                    } else {
+                        if (!isRed(sibling.right)) {
+                            sibling.left.red = false;
+                            sibling.red = true;
+                            root = rotateRight(root, sibling);
+                            sibling = parent.right;
+                        }
+                        sibling.red = parent.red;
+                        parent.red = false;
+                        sibling.right.red = false;
+                        root = rotateLeft(root, parent);
+                        treeEntry = root;
+                    }
+                } else {
+                    TreeEntry<K, V> sibling = parent.left;
+                    if (sibling.red) {
+                        sibling.red = false;
+                        parent.red = true;
+                        root = rotateRight(root, parent);
+                        sibling = parent.left;
+                    }
+                    if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                        sibling.red = true;
+                        treeEntry = parent;
+                    } else {
+                        if (!isRed(sibling.left)) {
+                            sibling.right.red = false;
+                            sibling.red = true;
+                            root = rotateLeft(root, sibling);
+                            sibling = parent.left;
+                        }
+                        sibling.red = parent.red;
+                        parent.red = false;
+                        sibling.left.red = false;
+                        root = rotateRight(root, parent);
+                        treeEntry = root;
+                    }
+                }
+            }
+            treeEntry.red = false;
+            return root;
+        }
+
+        private static <K, V> TreeEntry<K, V> rotateLeft(TreeEntry<K, V> root, TreeEntry<K, V> treeEntry) {
+            TreeEntry<K, V> right = treeEntry.right;
+            treeEntry.right = right.left;
+            if (right.left != null) {
+                right.left.parent = treeEntry;
+            }
+            replace(treeEntry, right);
+            if (right.parent == null) {
+                root = right;
+            }
+            right.left = treeEntry;
+            treeEntry.parent = right;
+            return root;
+        }
+
+        private static <K, V> TreeEntry<K, V> rotateRight(TreeEntry<K, V> root, TreeEntry<K, V> treeEntry) {
+            TreeEntry<K, V> left = treeEntry.left;
+            treeEntry.left = left.right;
+            if (left.right != null) {
+                left.right.parent = treeEntry;
+            }
+            replace(treeEntry, left);
+            if (left.parent == null) {
+                root = left;
+            }
+            left.right = treeEntry;
+            treeEntry.parent = left;
+            return root;
+        }
+
+        private static boolean isRed(TreeEntry<?, ?> treeEntry) {
+            return treeEntry != null && treeEntry.red;
+        }
+
+        /**
+         * Returns the class of {@code key} if it is declared as {@code C implements Comparable<C>}, {@code null}
+         * otherwise.
+         */
+        private static Class<?> comparableClassFor(Object key) {
+            if (key instanceof Comparable) {
+                Class<?> keyClass = key.getClass();
+                if (keyClass == String.class) {
+                    return keyClass;
+                }
+                for (Type type : keyClass.getGenericInterfaces()) {
+                    if (type instanceof ParameterizedType) {
+                        ParameterizedType parameterizedType = (ParameterizedType) type;
+                        Type[] arguments = parameterizedType.getActualTypeArguments();
+                        if (parameterizedType.getRawType() == Comparable.class
+                                && arguments.length == 1 && arguments[0] == keyClass) {
+                            return keyClass;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compareComparables(Class<?> keyClass, Object key, Object other) {
+            return keyClass == null || other == null || other.getClass() != keyClass
+                    ? 0 : ((Comparable) key).compareTo(other);
+        }
+
+        private static int tieBreakOrder(Object key, Object other) {
+            if (key != null && other != null) {
+                int result = key.getClass().getName().compareTo(other.getClass().getName());
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return System.identityHashCode(key) <= System.identityHashCode(other) ? -1 : 1;
+        }
+    }
+
     private static abstract class AbstractEntryIterator<K, V> {
         private final HashMapEntry<K, V>[] buckets;
         private int currentBucket = 0;
@@ -385,4 +1480,138 @@ public class HashMap<K, V> implements Map<K, V> {
             return super.nextEntry().key;
         }
     }
+
+    /**
+     * Covers the buckets {@code [index, fence)}. Splitting halves the range, and the size estimate with it, so
+     * only a spliterator over the whole table knows its size exactly and reports {@link #SIZED}.
+     */
+    private static abstract class HashMapSpliterator<K, V, T> implements Spliterator<T> {
+        final HashMapEntry<K, V>[] buckets;
+        private final int fence;
+        private final boolean sized;
+        private int index;
+        private long estimate;
+        private HashMapEntry<K, V> current;
+
+        HashMapSpliterator(HashMapEntry<K, V>[] buckets, int origin, int fence, long estimate, boolean sized) {
+            this.buckets = buckets;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.sized = sized;
+        }
+
+        abstract T extract(HashMapEntry<K, V> hashMapEntry);
+
+        abstract HashMapSpliterator<K, V, T> split(int origin, int fence, long estimate);
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (index >= middle || current != null) {
+                return null;
+            }
+            estimate >>>= 1;
+            Spliterator<T> prefix = split(index, middle, estimate);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = buckets[index++];
+                } else {
+                    HashMapEntry<K, V> hashMapEntry = current;
+                    current = current.next;
+                    action.accept(extract(hashMapEntry));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (HashMapEntry<K, V> hashMapEntry = current; hashMapEntry != null; hashMapEntry = hashMapEntry.next) {
+                action.accept(extract(hashMapEntry));
+            }
+            current = null;
+            for (; index < fence; index++) {
+                for (HashMapEntry<K, V> hashMapEntry = buckets[index]; hashMapEntry != null;
+                     hashMapEntry = hashMapEntry.next) {
+                    action.accept(extract(hashMapEntry));
+                }
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return sized ? SIZED : 0;
+        }
+    }
+
+    private static final class KeySpliterator<K, V> extends HashMapSpliterator<K, V, K> {
+        KeySpliterator(HashMapEntry<K, V>[] buckets, int origin, int fence, long estimate, boolean sized) {
+            super(buckets, origin, fence, estimate, sized);
+        }
+
+        @Override
+        K extract(HashMapEntry<K, V> hashMapEntry) {
+            return hashMapEntry.key;
+        }
+
+        @Override
+        HashMapSpliterator<K, V, K> split(int origin, int fence, long estimate) {
+            return new KeySpliterator<>(buckets, origin, fence, estimate, false);
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | DISTINCT;
+        }
+    }
+
+    private static final class ValueSpliterator<K, V> extends HashMapSpliterator<K, V, V> {
+        ValueSpliterator(HashMapEntry<K, V>[] buckets, int origin, int fence, long estimate, boolean sized) {
+            super(buckets, origin, fence, estimate, sized);
+        }
+
+        @Override
+        V extract(HashMapEntry<K, V> hashMapEntry) {
+            return hashMapEntry.value;
+        }
+
+        @Override
+        HashMapSpliterator<K, V, V> split(int origin, int fence, long estimate) {
+            return new ValueSpliterator<>(buckets, origin, fence, estimate, false);
+        }
+    }
+
+    private static final class EntrySpliterator<K, V> extends HashMapSpliterator<K, V, HashMapEntry<K, V>> {
+        EntrySpliterator(HashMapEntry<K, V>[] buckets, int origin, int fence, long estimate, boolean sized) {
+            super(buckets, origin, fence, estimate, sized);
+        }
+
+        @Override
+        HashMapEntry<K, V> extract(HashMapEntry<K, V> hashMapEntry) {
+            return hashMapEntry;
+        }
+
+        @Override
+        HashMapSpliterator<K, V, HashMapEntry<K, V>> split(int origin, int fence, long estimate) {
+            return new EntrySpliterator<>(buckets, origin, fence, estimate, false);
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | DISTINCT | NONNULL;
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the shape of a {@link HashMap} table and of the operation counters collected since statistics were
+ * enabled. The probe length of an operation is the number of entries it had to look at: the position in the chain
+ * or the depth in a tree bucket. The counters are zero when statistics are disabled.
+ *
+ * @author Ilya Murzinov
+ */
+public final class HashMapStats implements HashMapStatsMXBean {
+    private final int size;
+    private final int capacity;
+    private final int treeBuckets;
+    private final long[] chainLengthHistogram;
+    private final Probes gets;
+    private final Probes puts;
+    private final Probes removes;
+    private final long resizeCount;
+    private final long resizeNanos;
+
+    HashMapStats(int size, int capacity, int treeBuckets, long[] chainLengthHistogram, Probes gets, Probes puts,
+                 Probes removes, long resizeCount, long resizeNanos) {
+        this.size = size;
+        this.capacity = capacity;
+        this.treeBuckets = treeBuckets;
+        this.chainLengthHistogram = chainLengthHistogram;
+        this.gets = gets;
+        this.puts = puts;
+        this.removes = removes;
+        this.resizeCount = resizeCount;
+        this.resizeNanos = resizeNanos;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getOccupiedBuckets() {
+        return capacity - (int) chainLengthHistogram[0];
+    }
+
+    @Override
+    public int getTreeBuckets() {
+        return treeBuckets;
+    }
+
+    @Override
+    public int getMaxChainLength() {
+        for (int i = chainLengthHistogram.length - 1; i > 0; i--) {
+            if (chainLengthHistogram[i] != 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public long[] getChainLengthHistogram() {
+        return chainLengthHistogram.clone();
+    }
+
+    @Override
+    public long getGetCount() {
+        return gets.count;
+    }
+
+    @Override
+    public double getAverageGetProbeLength() {
+        return gets.average();
+    }
+
+    @Override
+    public int getMaxGetProbeLength() {
+        return gets.max;
+    }
+
+    @Override
+    public long getPutCount() {
+        return puts.count;
+    }
+
+    @Override
+    public double getAveragePutProbeLength() {
+        return puts.average();
+    }
+
+    @Override
+    public int getMaxPutProbeLength() {
+        return puts.max;
+    }
+
+    @Override
+    public long getRemoveCount() {
+        return removes.count;
+    }
+
+    @Override
+    public double getAverageRemoveProbeLength() {
+        return removes.average();
+    }
+
+    @Override
+    public int getMaxRemoveProbeLength() {
+        return removes.max;
+    }
+
+    @Override
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    @Override
+    public long getResizeNanos() {
+        return resizeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "HashMapStats[size=" + size + ", capacity=" + capacity + ", occupied=" + getOccupiedBuckets()
+                + ", trees=" + treeBuckets + ", chains=" + Arrays.toString(chainLengthHistogram)
+                + ", get=" + gets + ", put=" + puts + ", remove=" + removes
+                + ", resizes=" + resizeCount + " in " + resizeNanos + "ns]";
+    }
+
+    /**
+     * Probe lengths of one kind of operation.
+     */
+    static final class Probes {
+        private long count;
+        private long total;
+        private int max;
+
+        void record(int probeLength) {
+            count++;
+            total += probeLength;
+            if (probeLength > max) {
+                max = probeLength;
+            }
+        }
+
+        Probes copy() {
+            Probes copy = new Probes();
+            copy.count = count;
+            copy.total = total;
+            copy.max = max;
+            return copy;
+        }
+
+        private double average() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        @Override
+        public String toString() {
+            return count + " x " + average() + " (max " + max + ")";
+        }
+    }
+}
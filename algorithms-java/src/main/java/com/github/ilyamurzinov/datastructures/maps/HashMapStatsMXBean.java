@@ -0,0 +1,45 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+/**
+ * Management interface of {@link HashMap} statistics, see {@link HashMap#getStatsMXBean()}.
+ *
+ * @author Ilya Murzinov
+ */
+public interface HashMapStatsMXBean {
+    int getSize();
+
+    int getCapacity();
+
+    int getOccupiedBuckets();
+
+    int getTreeBuckets();
+
+    int getMaxChainLength();
+
+    /**
+     * Element {@code i} is the number of buckets holding {@code i} entries; the last one counts all longer chains.
+     */
+    long[] getChainLengthHistogram();
+
+    long getGetCount();
+
+    double getAverageGetProbeLength();
+
+    int getMaxGetProbeLength();
+
+    long getPutCount();
+
+    double getAveragePutProbeLength();
+
+    int getMaxPutProbeLength();
+
+    long getRemoveCount();
+
+    double getAverageRemoveProbeLength();
+
+    int getMaxRemoveProbeLength();
+
+    long getResizeCount();
+
+    long getResizeNanos();
+}
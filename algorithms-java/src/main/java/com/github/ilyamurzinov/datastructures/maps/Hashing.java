@@ -0,0 +1,62 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author Ilya Murzinov
+ */
+final class Hashing {
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int INT_PHI = 0x9E3779B9;
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    private Hashing() {
+    }
+
+    static int mix(int x) {
+        int h = x * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long x) {
+        long h = x * LONG_PHI;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    /**
+     * Hashes {@code length} bytes of {@code buffer} starting at {@code offset}, a word at a time.
+     */
+    static int hash(ByteBuffer buffer, int offset, int length) {
+        long h = length;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            h = Long.rotateLeft((h ^ buffer.getLong(offset + i)) * LONG_PHI, 31);
+        }
+        for (; i < length; i++) {
+            h = Long.rotateLeft((h ^ buffer.get(offset + i)) * LONG_PHI, 31);
+        }
+        return mix(h);
+    }
+
+    static int tableSize(int expectedSize, double loadFactor) {
+        long required = (long) Math.ceil(expectedSize / loadFactor);
+        int result = 2;
+        while (result < required && result < MAXIMUM_CAPACITY) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    static double checkLoadFactor(double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1 || Double.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("LoadFactor must be between 0 and 1");
+        }
+        return loadFactor;
+    }
+
+    static int threshold(int capacity, double loadFactor) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+/**
+ * Defines hash codes and equality of keys for {@link HashMap} in place of the keys' own methods, e.g. to compare
+ * arrays by content or to hash composite keys without allocating a wrapper. Keys passed to a strategy are never
+ * {@code null}.
+ *
+ * @author Ilya Murzinov
+ */
+public interface HashingStrategy<K> {
+    /**
+     * Uses {@link Object#hashCode()} and {@link Object#equals(Object)}.
+     */
+    HashingStrategy<Object> DEFAULT = new HashingStrategy<Object>() {
+        @Override
+        public int hashCode(Object key) {
+            return key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object key1, Object key2) {
+            return key1.equals(key2);
+        }
+    };
+
+    int hashCode(K key);
+
+    boolean equals(K key1, K key2);
+}
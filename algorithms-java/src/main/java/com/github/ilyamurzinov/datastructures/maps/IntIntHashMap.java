@@ -0,0 +1,415 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Open addressing map with linear probing over parallel {@code int[]} arrays.
+ * Key {@code 0} marks a free slot, so a mapping for it is kept aside in {@link #freeValue}.
+ *
+ * @author Ilya Murzinov
+ */
+public class IntIntHashMap implements IntIntMap {
+    private static final int DEFAULT_CAPACITY = 1 << 4;
+    private static final double DEFAULT_LOAD_FACTOR = 0.5;
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private int[] values;
+    private boolean hasFreeKey;
+    private int freeValue;
+    private int size;
+    private int capacity;
+    private int threshold;
+    private final double loadFactor;
+    private final int maximumCapacity;
+
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntIntHashMap(int expectedSize, double loadFactor) {
+        this(expectedSize, loadFactor, Hashing.MAXIMUM_CAPACITY);
+    }
+
+    IntIntHashMap(int expectedSize, double loadFactor, int maximumCapacity) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        this.loadFactor = Hashing.checkLoadFactor(loadFactor);
+        this.maximumCapacity = maximumCapacity;
+        allocate(Math.min(Hashing.tableSize(expectedSize, loadFactor), maximumCapacity));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return key == FREE_KEY ? hasFreeKey : indexOf(key) >= 0;
+    }
+
+    @Override
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeValue : defaultValue;
+        }
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public int put(int key, int value) {
+        if (key == FREE_KEY) {
+            int result = freeValue;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+                result = 0;
+            }
+            freeValue = value;
+            return result;
+        }
+
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                int result = values[index];
+                values[index] = value;
+                return result;
+            }
+            index = (index + 1) & mask;
+        }
+
+        checkNotFull();
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= threshold) {
+            rehash(capacity << 1);
+        }
+        return 0;
+    }
+
+    @Override
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                return 0;
+            }
+            hasFreeKey = false;
+            size--;
+            int result = freeValue;
+            freeValue = 0;
+            return result;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return 0;
+        }
+        int result = values[index];
+        size--;
+        shiftKeys(index);
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return key != null && containsKey(key.intValue());
+    }
+
+    @Override
+    public boolean containsValue(Integer value) {
+        if (value == null) {
+            return false;
+        }
+        int v = value;
+        if (hasFreeKey && freeValue == v) {
+            return true;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != FREE_KEY && values[i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Integer get(Integer key) {
+        if (key == null) {
+            return null;
+        }
+        int k = key;
+        if (k == FREE_KEY) {
+            return hasFreeKey ? freeValue : null;
+        }
+        int index = indexOf(k);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Integer put(Integer key, Integer value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Null keys and values are not supported");
+        }
+        boolean present = containsKey(key.intValue());
+        int result = put(key.intValue(), value.intValue());
+        return present ? result : null;
+    }
+
+    @Override
+    public Integer remove(Integer key) {
+        if (key == null || !containsKey(key.intValue())) {
+            return null;
+        }
+        return remove(key.intValue());
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ? extends Integer> m) {
+        for (Map.Entry<? extends Integer, ? extends Integer> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            size = 0;
+            hasFreeKey = false;
+            freeValue = 0;
+            Arrays.fill(keys, FREE_KEY);
+            Arrays.fill(values, 0);
+        }
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new AbstractSet<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new SlotIterator<Integer>() {
+                    @Override
+                    public Integer next() {
+                        int slot = nextSlot();
+                        return slot < 0 ? FREE_KEY : keys[slot];
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Integer && containsKey(((Integer) o).intValue());
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Integer> values() {
+        return new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new SlotIterator<Integer>() {
+                    @Override
+                    public Integer next() {
+                        int slot = nextSlot();
+                        return slot < 0 ? freeValue : values[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<? extends Map.Entry<Integer, Integer>> entrySet() {
+        return new AbstractSet<Entry>() {
+            @Override
+            public Iterator<Entry> iterator() {
+                return new SlotIterator<Entry>() {
+                    @Override
+                    public Entry next() {
+                        int slot = nextSlot();
+                        return new Entry(slot < 0 ? FREE_KEY : keys[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(int key) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Closes the gap left at {@code index} by moving back entries whose probe sequence passes through it,
+     * so lookups never need tombstones.
+     */
+    private void shiftKeys(int index) {
+        int mask = capacity - 1;
+        while (true) {
+            int last = index;
+            index = (index + 1) & mask;
+            int current;
+            while (true) {
+                if ((current = keys[index]) == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    values[last] = 0;
+                    return;
+                }
+                int slot = Hashing.mix(current) & mask;
+                if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[index];
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.threshold = Hashing.threshold(capacity, loadFactor);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Linear probing stops only at a free slot, so once the table cannot grow any more the last one is never filled.
+     */
+    private void checkNotFull() {
+        if (size - (hasFreeKey ? 1 : 0) >= capacity - 1) {
+            throw new IllegalStateException("Map is full");
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > maximumCapacity) {
+            // Growth is capped, so from here on checkNotFull() is what keeps a free slot in the table.
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int index = Hashing.mix(key) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<Integer, Integer> {
+        private final int key;
+
+        private Entry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Integer getValue() {
+            return IntIntHashMap.this.get(key);
+        }
+
+        @Override
+        public Integer setValue(Integer value) {
+            return IntIntHashMap.this.put(key, value.intValue());
+        }
+    }
+
+    /**
+     * Walks occupied slots; slot {@code -1} stands for the free key mapping, which is visited first.
+     */
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private int slot = hasFreeKey ? -1 : advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return slot < capacity;
+        }
+
+        int nextSlot() {
+            if (slot >= capacity) {
+                throw new NoSuchElementException();
+            }
+            int result = slot;
+            slot = advance(slot + 1);
+            return result;
+        }
+
+        private int advance(int from) {
+            while (from < capacity && keys[from] == FREE_KEY) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+/**
+ * {@link Map} with {@code int} keys and values. Primitive overloads never box; absent keys map to {@code 0}.
+ *
+ * @author Ilya Murzinov
+ */
+public interface IntIntMap extends Map<Integer, Integer> {
+    boolean containsKey(int key);
+
+    int get(int key);
+
+    int getOrDefault(int key, int defaultValue);
+
+    int put(int key, int value);
+
+    int remove(int key);
+}
@@ -0,0 +1,393 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Open addressing map with linear probing over parallel {@code long[]} and {@code Object[]} arrays.
+ * Key {@code 0} marks a free slot, so a mapping for it is kept aside in {@link #freeValue}.
+ *
+ * @author Ilya Murzinov
+ */
+public class LongObjectHashMap<V> implements LongObjectMap<V> {
+    private static final int DEFAULT_CAPACITY = 1 << 4;
+    private static final double DEFAULT_LOAD_FACTOR = 0.5;
+    private static final long FREE_KEY = 0;
+
+    private long[] keys;
+    private V[] values;
+    private boolean hasFreeKey;
+    private V freeValue;
+    private int size;
+    private int capacity;
+    private int threshold;
+    private final double loadFactor;
+    private final int maximumCapacity;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongObjectHashMap(int expectedSize, double loadFactor) {
+        this(expectedSize, loadFactor, Hashing.MAXIMUM_CAPACITY);
+    }
+
+    LongObjectHashMap(int expectedSize, double loadFactor, int maximumCapacity) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        this.loadFactor = Hashing.checkLoadFactor(loadFactor);
+        this.maximumCapacity = maximumCapacity;
+        allocate(Math.min(Hashing.tableSize(expectedSize, loadFactor), maximumCapacity));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return key == FREE_KEY ? hasFreeKey : indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(long key) {
+        if (key == FREE_KEY) {
+            return freeValue;
+        }
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public V put(long key, V value) {
+        if (key == FREE_KEY) {
+            V result = freeValue;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeValue = value;
+            return result;
+        }
+
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                V result = values[index];
+                values[index] = value;
+                return result;
+            }
+            index = (index + 1) & mask;
+        }
+
+        checkNotFull();
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= threshold) {
+            rehash(capacity << 1);
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(long key) {
+        if (key == FREE_KEY) {
+            V result = freeValue;
+            if (hasFreeKey) {
+                hasFreeKey = false;
+                freeValue = null;
+                size--;
+            }
+            return result;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V result = values[index];
+        size--;
+        shiftKeys(index);
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(Long key) {
+        return key != null && containsKey(key.longValue());
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        if (hasFreeKey && Objects.equals(freeValue, value)) {
+            return true;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != FREE_KEY && Objects.equals(values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Long key) {
+        return key == null ? null : get(key.longValue());
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public V remove(Long key) {
+        return key == null ? null : remove(key.longValue());
+    }
+
+    @Override
+    public void putAll(Map<? extends Long, ? extends V> m) {
+        for (Map.Entry<? extends Long, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            size = 0;
+            hasFreeKey = false;
+            freeValue = null;
+            Arrays.fill(keys, FREE_KEY);
+            Arrays.fill(values, null);
+        }
+    }
+
+    @Override
+    public Set<Long> keySet() {
+        return new AbstractSet<Long>() {
+            @Override
+            public Iterator<Long> iterator() {
+                return new SlotIterator<Long>() {
+                    @Override
+                    public Long next() {
+                        int slot = nextSlot();
+                        return slot < 0 ? FREE_KEY : keys[slot];
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Long && containsKey(((Long) o).longValue());
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>() {
+                    @Override
+                    public V next() {
+                        int slot = nextSlot();
+                        return slot < 0 ? freeValue : values[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<? extends Map.Entry<Long, V>> entrySet() {
+        return new AbstractSet<Entry>() {
+            @Override
+            public Iterator<Entry> iterator() {
+                return new SlotIterator<Entry>() {
+                    @Override
+                    public Entry next() {
+                        int slot = nextSlot();
+                        return new Entry(slot < 0 ? FREE_KEY : keys[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(long key) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Closes the gap left at {@code index} by moving back entries whose probe sequence passes through it,
+     * so lookups never need tombstones.
+     */
+    private void shiftKeys(int index) {
+        int mask = capacity - 1;
+        while (true) {
+            int last = index;
+            index = (index + 1) & mask;
+            long current;
+            while (true) {
+                if ((current = keys[index]) == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    values[last] = null;
+                    return;
+                }
+                int slot = Hashing.mix(current) & mask;
+                if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[index];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.threshold = Hashing.threshold(capacity, loadFactor);
+        this.keys = new long[capacity];
+        this.values = (V[]) new Object[capacity];
+    }
+
+    /**
+     * Linear probing stops only at a free slot, so once the table cannot grow any more the last one is never filled.
+     */
+    private void checkNotFull() {
+        if (size - (hasFreeKey ? 1 : 0) >= capacity - 1) {
+            throw new IllegalStateException("Map is full");
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > maximumCapacity) {
+            // Growth is capped, so from here on checkNotFull() is what keeps a free slot in the table.
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int index = Hashing.mix(key) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<Long, V> {
+        private final long key;
+
+        private Entry(long key) {
+            this.key = key;
+        }
+
+        @Override
+        public Long getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return LongObjectHashMap.this.get(key);
+        }
+
+        @Override
+        public V setValue(V value) {
+            return LongObjectHashMap.this.put(key, value);
+        }
+    }
+
+    /**
+     * Walks occupied slots; slot {@code -1} stands for the free key mapping, which is visited first.
+     */
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private int slot = hasFreeKey ? -1 : advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return slot < capacity;
+        }
+
+        int nextSlot() {
+            if (slot >= capacity) {
+                throw new NoSuchElementException();
+            }
+            int result = slot;
+            slot = advance(slot + 1);
+            return result;
+        }
+
+        private int advance(int from) {
+            while (from < capacity && keys[from] == FREE_KEY) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+/**
+ * {@link Map} with {@code long} keys. Primitive overloads never box the key.
+ *
+ * @author Ilya Murzinov
+ */
+public interface LongObjectMap<V> extends Map<Long, V> {
+    boolean containsKey(long key);
+
+    V get(long key);
+
+    V put(long key, V value);
+
+    V remove(long key);
+}
@@ -0,0 +1,583 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import com.github.ilyamurzinov.datastructures.io.FixedWidthCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Open addressing map with linear probing whose table lives in a memory-mapped file, so it is kept off the Java
+ * heap and survives restarts. Keys and values are stored in the encoding of fixed-width codecs; lookups hash and
+ * compare the encoded key bytes and only decode the value that is returned.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE}-byte header (magic, version, key and value widths, capacity and
+ * size) followed by {@code capacity} slots of {@code 4 + keyWidth + valueWidth} bytes: the key hash with the top
+ * bit set ({@code 0} marks a free slot), the key and the value. The slots are mapped in segments of at most 1 GiB.
+ * Reopening a file maps it without reading the entries. Writes reach the file when the OS flushes the mapping,
+ * or on {@link #flush()} and {@link #close()}.
+ * <p>
+ * The table doubles by writing a new file next to the old one and moving it over the old one. Not thread-safe.
+ *
+ * @author Ilya Murzinov
+ */
+public class MappedHashMap<K, V> implements Map<K, V>, Closeable {
+    private static final long MAGIC = 0x4D41505045444D50L;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int KEY_WIDTH_OFFSET = 12;
+    private static final int VALUE_WIDTH_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 20;
+    private static final int SIZE_OFFSET = 24;
+
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+    private static final int HASH_WIDTH = Integer.BYTES;
+    private static final int OCCUPIED = 0x80000000;
+    private static final int FREE = 0;
+
+    private static final int DEFAULT_EXPECTED_SIZE = 1 << 10;
+    private static final double DEFAULT_LOAD_FACTOR = 0.5;
+
+    private final Path path;
+    private final FixedWidthCodec<K> keyCodec;
+    private final FixedWidthCodec<V> valueCodec;
+    private final int keyWidth;
+    private final int slotWidth;
+    private final double loadFactor;
+    private final int maximumCapacity;
+    /**
+     * Holds the encoding of the key being looked up.
+     */
+    private final ByteBuffer scratch;
+
+    private Table table;
+    private int size;
+    private int threshold;
+
+    private MappedHashMap(Path path, FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec, double loadFactor,
+                          int maximumCapacity) {
+        this.path = path;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.keyWidth = keyCodec.width();
+        this.slotWidth = HASH_WIDTH + keyWidth + valueCodec.width();
+        this.loadFactor = Hashing.checkLoadFactor(loadFactor);
+        this.maximumCapacity = maximumCapacity;
+        this.scratch = ByteBuffer.allocate(keyWidth);
+    }
+
+    public static <K, V> MappedHashMap<K, V> open(Path path, FixedWidthCodec<K> keyCodec,
+                                                  FixedWidthCodec<V> valueCodec) throws IOException {
+        return open(path, keyCodec, valueCodec, DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Opens the map stored in {@code path}, creating the file with room for {@code expectedSize} entries if it is
+     * missing or empty.
+     *
+     * @throws IOException if the file cannot be mapped, is not a map file or was written with codecs of other widths
+     */
+    public static <K, V> MappedHashMap<K, V> open(Path path, FixedWidthCodec<K> keyCodec,
+                                                  FixedWidthCodec<V> valueCodec, int expectedSize,
+                                                  double loadFactor) throws IOException {
+        return open(path, keyCodec, valueCodec, expectedSize, loadFactor, Hashing.MAXIMUM_CAPACITY);
+    }
+
+    /**
+     * Opens a map whose table never grows beyond {@code maximumCapacity} slots, so tests can fill it.
+     */
+    static <K, V> MappedHashMap<K, V> open(Path path, FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec,
+                                           int expectedSize, double loadFactor, int maximumCapacity)
+            throws IOException {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        MappedHashMap<K, V> map = new MappedHashMap<>(path, keyCodec, valueCodec, loadFactor, maximumCapacity);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                map.table = map.create(channel, Math.min(Hashing.tableSize(expectedSize, loadFactor), maximumCapacity));
+            } else {
+                map.table = map.load(channel);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        map.size = map.table.header.getInt(SIZE_OFFSET);
+        map.threshold = Hashing.threshold(map.table.capacity, loadFactor);
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return key != null && find(table(), encode(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        Table table = table();
+        for (int i = 0; i < table.capacity; i++) {
+            ByteBuffer segment = table.segment(i);
+            int offset = table.offset(i);
+            if (segment.getInt(offset) != FREE
+                    && valueCodec.read(segment, offset + HASH_WIDTH + keyWidth).equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Table table = table();
+        int index = find(table, encode(key));
+        return index < 0 ? null : valueCodec.read(table.segment(index), table.offset(index) + HASH_WIDTH + keyWidth);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Null keys and values are not supported");
+        }
+        Table table = table();
+        int tag = encode(key);
+        int index = find(table, tag);
+        if (index >= 0) {
+            ByteBuffer segment = table.segment(index);
+            int offset = table.offset(index) + HASH_WIDTH + keyWidth;
+            V result = valueCodec.read(segment, offset);
+            valueCodec.write(segment, offset, value);
+            return result;
+        }
+
+        checkNotFull(table);
+        index = -1 - index;
+        ByteBuffer segment = table.segment(index);
+        int offset = table.offset(index);
+        segment.putInt(offset, tag);
+        copy(scratch, 0, segment, offset + HASH_WIDTH, keyWidth);
+        valueCodec.write(segment, offset + HASH_WIDTH + keyWidth, value);
+        setSize(size + 1);
+        if (size >= threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        Table table = table();
+        int index = find(table, encode(key));
+        if (index < 0) {
+            return null;
+        }
+        V result = valueCodec.read(table.segment(index), table.offset(index) + HASH_WIDTH + keyWidth);
+        shiftKeys(table, index);
+        setSize(size - 1);
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        Table table = table();
+        for (int i = 0; i < table.capacity; i++) {
+            table.segment(i).putInt(table.offset(i), FREE);
+        }
+        setSize(0);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new SlotIterator<K>() {
+                    @Override
+                    public K next() {
+                        int slot = nextSlot();
+                        return keyCodec.read(table.segment(slot), table.offset(slot) + HASH_WIDTH);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>() {
+                    @Override
+                    public V next() {
+                        int slot = nextSlot();
+                        return valueCodec.read(table.segment(slot), table.offset(slot) + HASH_WIDTH + keyWidth);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<? extends Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry>() {
+            @Override
+            public Iterator<Entry> iterator() {
+                return new SlotIterator<Entry>() {
+                    @Override
+                    public Entry next() {
+                        int slot = nextSlot();
+                        return new Entry(keyCodec.read(table.segment(slot), table.offset(slot) + HASH_WIDTH));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Forces all changes to the file.
+     */
+    public void flush() {
+        table().force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (table != null) {
+            table.force();
+            table.channel.close();
+            table = null;
+        }
+    }
+
+    private Table table() {
+        if (table == null) {
+            throw new IllegalStateException("Map is closed");
+        }
+        return table;
+    }
+
+    /**
+     * Encodes {@code key} into {@link #scratch} and returns its tag: the hash of the encoding with the top bit set.
+     */
+    private int encode(K key) {
+        keyCodec.write(scratch, 0, key);
+        return Hashing.hash(scratch, 0, keyWidth) | OCCUPIED;
+    }
+
+    /**
+     * Returns the slot holding the key in {@link #scratch}, or {@code -1 - slot} of the free slot ending its probe.
+     */
+    private int find(Table table, int tag) {
+        int mask = table.capacity - 1;
+        int index = tag & mask;
+        while (true) {
+            ByteBuffer segment = table.segment(index);
+            int offset = table.offset(index);
+            int current = segment.getInt(offset);
+            if (current == FREE) {
+                return -1 - index;
+            }
+            if (current == tag && keyEquals(segment, offset + HASH_WIDTH)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private boolean keyEquals(ByteBuffer segment, int offset) {
+        int i = 0;
+        for (; i + Long.BYTES <= keyWidth; i += Long.BYTES) {
+            if (segment.getLong(offset + i) != scratch.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < keyWidth; i++) {
+            if (segment.get(offset + i) != scratch.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the gap left at {@code index} by moving back entries whose probe sequence passes through it,
+     * so lookups never need tombstones.
+     */
+    private void shiftKeys(Table table, int index) {
+        int mask = table.capacity - 1;
+        while (true) {
+            int last = index;
+            index = (index + 1) & mask;
+            while (true) {
+                int tag = table.segment(index).getInt(table.offset(index));
+                if (tag == FREE) {
+                    table.segment(last).putInt(table.offset(last), FREE);
+                    return;
+                }
+                int slot = tag & mask;
+                if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            copy(table.segment(index), table.offset(index), table.segment(last), table.offset(last), slotWidth);
+        }
+    }
+
+    /**
+     * Keeps at least one slot free, since probes stop only at a free slot.
+     */
+    private void checkNotFull(Table table) {
+        if (size >= table.capacity - 1) {
+            throw new IllegalStateException("Map is full");
+        }
+    }
+
+    private void setSize(int size) {
+        this.size = size;
+        table.header.putInt(SIZE_OFFSET, size);
+    }
+
+    /**
+     * Copies every entry into a table of twice the capacity in a temporary file, then moves that file over the
+     * current one.
+     */
+    private void resize() {
+        Table oldTable = table;
+        int newCapacity = oldTable.capacity << 1;
+        if (newCapacity > maximumCapacity) {
+            // Growth is capped, so from here on checkNotFull() is what keeps a free slot in the table.
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".resize");
+        try {
+            Table newTable;
+            FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                newTable = create(channel, newCapacity);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+
+            int mask = newCapacity - 1;
+            for (int i = 0; i < oldTable.capacity; i++) {
+                ByteBuffer segment = oldTable.segment(i);
+                int offset = oldTable.offset(i);
+                int tag = segment.getInt(offset);
+                if (tag != FREE) {
+                    int index = tag & mask;
+                    while (newTable.segment(index).getInt(newTable.offset(index)) != FREE) {
+                        index = (index + 1) & mask;
+                    }
+                    copy(segment, offset, newTable.segment(index), newTable.offset(index), slotWidth);
+                }
+            }
+            newTable.header.putInt(SIZE_OFFSET, size);
+            newTable.force();
+
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            table = newTable;
+            threshold = Hashing.threshold(newCapacity, loadFactor);
+            oldTable.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resize " + path, e);
+        }
+    }
+
+    private Table create(FileChannel channel, int capacity) throws IOException {
+        Table table = new Table(channel, capacity, slotWidth);
+        table.header.putLong(MAGIC_OFFSET, MAGIC);
+        table.header.putInt(VERSION_OFFSET, VERSION);
+        table.header.putInt(KEY_WIDTH_OFFSET, keyWidth);
+        table.header.putInt(VALUE_WIDTH_OFFSET, valueCodec.width());
+        table.header.putInt(CAPACITY_OFFSET, capacity);
+        table.header.putInt(SIZE_OFFSET, 0);
+        return table;
+    }
+
+    private Table load(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Not a mapped hash map file: " + path);
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not a mapped hash map file: " + path);
+        }
+        if (header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported version " + header.getInt(VERSION_OFFSET) + " of " + path);
+        }
+        if (header.getInt(KEY_WIDTH_OFFSET) != keyWidth || header.getInt(VALUE_WIDTH_OFFSET) != valueCodec.width()) {
+            throw new IOException("Codec widths do not match the entries of " + path);
+        }
+        int capacity = header.getInt(CAPACITY_OFFSET);
+        int size = header.getInt(SIZE_OFFSET);
+        if (Integer.bitCount(capacity) != 1 || capacity > Hashing.MAXIMUM_CAPACITY
+                || channel.size() < HEADER_SIZE + (long) capacity * slotWidth || size < 0 || size >= capacity) {
+            throw new IOException("Corrupted mapped hash map file: " + path);
+        }
+        return new Table(channel, capacity, slotWidth);
+    }
+
+    private static void copy(ByteBuffer from, int fromOffset, ByteBuffer to, int toOffset, int length) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            to.putLong(toOffset + i, from.getLong(fromOffset + i));
+        }
+        for (; i < length; i++) {
+            to.put(toOffset + i, from.get(fromOffset + i));
+        }
+    }
+
+    /**
+     * The mapped file: the header and the slots, split into segments of a power of two slots each.
+     */
+    private static final class Table {
+        private final FileChannel channel;
+        private final MappedByteBuffer header;
+        private final MappedByteBuffer[] segments;
+        private final int capacity;
+        private final int slotWidth;
+        private final int segmentShift;
+        private final int segmentMask;
+
+        private Table(FileChannel channel, int capacity, int slotWidth) throws IOException {
+            this.channel = channel;
+            this.capacity = capacity;
+            this.slotWidth = slotWidth;
+            int slotsPerSegment = Math.min(capacity, Integer.highestOneBit(MAX_SEGMENT_BYTES / slotWidth));
+            this.segmentShift = Integer.numberOfTrailingZeros(slotsPerSegment);
+            this.segmentMask = slotsPerSegment - 1;
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            this.segments = new MappedByteBuffer[capacity / slotsPerSegment];
+            long segmentBytes = (long) slotsPerSegment * slotWidth;
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + i * segmentBytes,
+                        segmentBytes);
+            }
+        }
+
+        private ByteBuffer segment(int index) {
+            return segments[index >>> segmentShift];
+        }
+
+        private int offset(int index) {
+            return (index & segmentMask) * slotWidth;
+        }
+
+        private void force() {
+            header.force();
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<K, V> {
+        private final K key;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return get(key);
+        }
+
+        @Override
+        public V setValue(V value) {
+            return put(key, value);
+        }
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        final Table table = table();
+        private int slot = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return slot < table.capacity;
+        }
+
+        int nextSlot() {
+            if (slot >= table.capacity) {
+                throw new NoSuchElementException();
+            }
+            int result = slot;
+            slot = advance(slot + 1);
+            return result;
+        }
+
+        private int advance(int from) {
+            while (from < table.capacity && table.segment(from).getInt(table.offset(from)) == FREE) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
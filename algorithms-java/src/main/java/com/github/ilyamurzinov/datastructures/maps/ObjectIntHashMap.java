@@ -0,0 +1,393 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Open addressing map with linear probing over parallel {@code Object[]} and {@code int[]} arrays.
+ * {@code null} marks a free slot, so a mapping for the {@code null} key is kept aside in {@link #nullValue}.
+ *
+ * @author Ilya Murzinov
+ */
+public class ObjectIntHashMap<K> implements ObjectIntMap<K> {
+    private static final int DEFAULT_CAPACITY = 1 << 4;
+    private static final double DEFAULT_LOAD_FACTOR = 0.5;
+
+    private K[] keys;
+    private int[] values;
+    private boolean hasNullKey;
+    private int nullValue;
+    private int size;
+    private int capacity;
+    private int threshold;
+    private final double loadFactor;
+    private final int maximumCapacity;
+
+    public ObjectIntHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public ObjectIntHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public ObjectIntHashMap(int expectedSize, double loadFactor) {
+        this(expectedSize, loadFactor, Hashing.MAXIMUM_CAPACITY);
+    }
+
+    ObjectIntHashMap(int expectedSize, double loadFactor, int maximumCapacity) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        this.loadFactor = Hashing.checkLoadFactor(loadFactor);
+        this.maximumCapacity = maximumCapacity;
+        allocate(Math.min(Hashing.tableSize(expectedSize, loadFactor), maximumCapacity));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return key == null ? hasNullKey : indexOf(key) >= 0;
+    }
+
+    @Override
+    public int getInt(K key) {
+        return getOrDefault(key, 0);
+    }
+
+    @Override
+    public int getOrDefault(K key, int defaultValue) {
+        if (key == null) {
+            return hasNullKey ? nullValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    @Override
+    public int put(K key, int value) {
+        if (key == null) {
+            int result = nullValue;
+            if (!hasNullKey) {
+                hasNullKey = true;
+                size++;
+                result = 0;
+            }
+            nullValue = value;
+            return result;
+        }
+
+        int mask = capacity - 1;
+        int index = Hashing.mix(key.hashCode()) & mask;
+        K current;
+        while ((current = keys[index]) != null) {
+            if (current == key || current.equals(key)) {
+                int result = values[index];
+                values[index] = value;
+                return result;
+            }
+            index = (index + 1) & mask;
+        }
+
+        checkNotFull();
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= threshold) {
+            rehash(capacity << 1);
+        }
+        return 0;
+    }
+
+    @Override
+    public int removeInt(K key) {
+        if (key == null) {
+            if (!hasNullKey) {
+                return 0;
+            }
+            hasNullKey = false;
+            size--;
+            int result = nullValue;
+            nullValue = 0;
+            return result;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return 0;
+        }
+        int result = values[index];
+        size--;
+        shiftKeys(index);
+        return result;
+    }
+
+    @Override
+    public boolean containsValue(Integer value) {
+        if (value == null) {
+            return false;
+        }
+        int v = value;
+        if (hasNullKey && nullValue == v) {
+            return true;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null && values[i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Integer get(K key) {
+        if (key == null) {
+            return hasNullKey ? nullValue : null;
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Integer put(K key, Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        boolean present = containsKey(key);
+        int result = put(key, value.intValue());
+        return present ? result : null;
+    }
+
+    @Override
+    public Integer remove(K key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        return removeInt(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends Integer> m) {
+        for (Map.Entry<? extends K, ? extends Integer> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            size = 0;
+            hasNullKey = false;
+            nullValue = 0;
+            Arrays.fill(keys, null);
+            Arrays.fill(values, 0);
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new SlotIterator<K>() {
+                    @Override
+                    public K next() {
+                        int slot = nextSlot();
+                        return slot < 0 ? null : keys[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Integer> values() {
+        return new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new SlotIterator<Integer>() {
+                    @Override
+                    public Integer next() {
+                        int slot = nextSlot();
+                        return slot < 0 ? nullValue : values[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<? extends Map.Entry<K, Integer>> entrySet() {
+        return new AbstractSet<Entry>() {
+            @Override
+            public Iterator<Entry> iterator() {
+                return new SlotIterator<Entry>() {
+                    @Override
+                    public Entry next() {
+                        int slot = nextSlot();
+                        return new Entry(slot < 0 ? null : keys[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(K key) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key.hashCode()) & mask;
+        K current;
+        while ((current = keys[index]) != null) {
+            if (current == key || current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Closes the gap left at {@code index} by moving back entries whose probe sequence passes through it,
+     * so lookups never need tombstones.
+     */
+    private void shiftKeys(int index) {
+        int mask = capacity - 1;
+        while (true) {
+            int last = index;
+            index = (index + 1) & mask;
+            K current;
+            while (true) {
+                if ((current = keys[index]) == null) {
+                    keys[last] = null;
+                    values[last] = 0;
+                    return;
+                }
+                int slot = Hashing.mix(current.hashCode()) & mask;
+                if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[index];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.threshold = Hashing.threshold(capacity, loadFactor);
+        this.keys = (K[]) new Object[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Linear probing stops only at a free slot, so once the table cannot grow any more the last one is never filled.
+     */
+    private void checkNotFull() {
+        if (size - (hasNullKey ? 1 : 0) >= capacity - 1) {
+            throw new IllegalStateException("Map is full");
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > maximumCapacity) {
+            // Growth is capped, so from here on checkNotFull() is what keeps a free slot in the table.
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        K[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            K key = oldKeys[i];
+            if (key != null) {
+                int index = Hashing.mix(key.hashCode()) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<K, Integer> {
+        private final K key;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public Integer getValue() {
+            return getInt(key);
+        }
+
+        @Override
+        public Integer setValue(Integer value) {
+            return put(key, value.intValue());
+        }
+    }
+
+    /**
+     * Walks occupied slots; slot {@code -1} stands for the {@code null} key mapping, which is visited first.
+     */
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private int slot = hasNullKey ? -1 : advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return slot < capacity;
+        }
+
+        int nextSlot() {
+            if (slot >= capacity) {
+                throw new NoSuchElementException();
+            }
+            int result = slot;
+            slot = advance(slot + 1);
+            return result;
+        }
+
+        private int advance(int from) {
+            while (from < capacity && keys[from] == null) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+/**
+ * {@link Map} with {@code int} values. Primitive overloads never box the value; absent keys map to {@code 0}.
+ *
+ * @author Ilya Murzinov
+ */
+public interface ObjectIntMap<K> extends Map<K, Integer> {
+    int getInt(K key);
+
+    int getOrDefault(K key, int defaultValue);
+
+    int put(K key, int value);
+
+    int removeInt(K key);
+}
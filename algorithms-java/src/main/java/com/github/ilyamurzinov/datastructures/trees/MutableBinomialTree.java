@@ -0,0 +1,91 @@
+package com.github.ilyamurzinov.datastructures.trees;
+
+/**
+ * Binomial tree that is linked and taken apart in place. Unlike {@link BinomialTree}, every tree is its own root
+ * node, so {@link #link} and {@link #removeFirstChild} only rewire parent/child/sibling pointers and never
+ * allocate. Trees that have been linked into another tree must not be used on their own afterwards.
+ *
+ * @author Ilya Murzinov
+ */
+public class MutableBinomialTree<T> {
+    private final T value;
+    private int degree;
+    private MutableBinomialTree<T> parent;
+    private MutableBinomialTree<T> child;
+    private MutableBinomialTree<T> sibling;
+
+    public MutableBinomialTree(T value) {
+        this.value = value;
+    }
+
+    public T getRootValue() {
+        return value;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Makes {@code that} the first child of this tree's root and returns this tree.
+     */
+    public MutableBinomialTree<T> link(MutableBinomialTree<T> that) {
+        if (that.degree != this.degree) {
+            throw new IllegalArgumentException("Can not merge two heaps of different degrees!");
+        }
+
+        that.parent = this;
+        that.sibling = child;
+        child = that;
+        degree++;
+        return this;
+    }
+
+    /**
+     * Detaches the child of the highest degree from the root and returns it as a standalone tree, or returns
+     * {@code null} if the root has no children. Calling it until it returns {@code null} deletes the root.
+     */
+    public MutableBinomialTree<T> removeFirstChild() {
+        MutableBinomialTree<T> result = child;
+        if (result != null) {
+            child = result.sibling;
+            result.parent = null;
+            result.sibling = null;
+            degree--;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a deep copy of this tree, which can be linked and taken apart independently of this one.
+     */
+    public MutableBinomialTree<T> copy() {
+        MutableBinomialTree<T> result = new MutableBinomialTree<>(value);
+        result.degree = degree;
+        MutableBinomialTree<T> last = null;
+        for (MutableBinomialTree<T> node = child; node != null; node = node.sibling) {
+            MutableBinomialTree<T> copy = node.copy();
+            copy.parent = result;
+            if (last == null) {
+                result.child = copy;
+            } else {
+                last.sibling = copy;
+            }
+            last = copy;
+        }
+        return result;
+    }
+
+    private static String toString(MutableBinomialTree<?> node) {
+        return "Node[degree: " + node.degree + ", "
+                + "value: " + node.value + ", "
+                + "children: " + (node.child == null ? null : toString(node.child))
+                + ", " + "siblings: " + (node.sibling == null ? null : toString(node.sibling))
+                + "]";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BinomialTree[root: %s]", toString(this));
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a sampled {@link InstrumentedPriorityQueue} operation. {@code jdk.jfr} is not part of
+ * Java 8, so this class is only compiled by the {@code jfr} profile on JDK 11 and later, and the decorator looks
+ * up {@link #emit} reflectively, doing without events when the class is missing or fails to link.
+ *
+ * @author Ilya Murzinov
+ */
+@Name("com.github.ilyamurzinov.datastructures.PriorityQueueOperation")
+@Label("Priority Queue Operation")
+@Category("Data Structures")
+@Description("Sampled operation of an instrumented priority queue")
+final class PriorityQueueEvent extends Event {
+    @Label("Queue")
+    private String queue;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    private long latency;
+
+    @Label("Size")
+    private int size;
+
+    @Label("Comparisons")
+    private long comparisons;
+
+    static void emit(String queue, String operation, long latency, int size, long comparisons) {
+        PriorityQueueEvent event = new PriorityQueueEvent();
+        if (event.isEnabled()) {
+            event.queue = queue;
+            event.operation = operation;
+            event.latency = latency;
+            event.size = size;
+            event.comparisons = comparisons;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import com.github.ilyamurzinov.datastructures.heaps.AddressablePriorityQueue.Handle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * @author Ilya Murzinov
+ */
+public abstract class AbstractAddressablePriorityQueueTest {
+
+    protected abstract AddressablePriorityQueue<Integer> create();
+
+    @Test
+    public void testRandomOperations() throws Exception {
+        AddressablePriorityQueue<Integer> heap = create();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        List<Handle<Integer>> handles = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            int operation = random.nextInt(5);
+            if (operation < 2 || handles.isEmpty()) {
+                int value = random.nextInt(10000);
+                handles.add(heap.insert(value));
+                expected.merge(value, 1, Integer::sum);
+            } else {
+                int index = random.nextInt(handles.size());
+                Handle<Integer> handle = handles.get(index);
+                if (!heap.contains(handle)) {
+                    handles.set(index, handles.get(handles.size() - 1));
+                    handles.remove(handles.size() - 1);
+                    continue;
+                }
+                int value = handle.getValue();
+                if (operation == 2) {
+                    int newValue = value - random.nextInt(100);
+                    heap.decreaseKey(handle, newValue);
+                    decrement(expected, value);
+                    expected.merge(newValue, 1, Integer::sum);
+                } else if (operation == 3) {
+                    heap.remove(handle);
+                    decrement(expected, value);
+                } else {
+                    Assert.assertEquals(expected.firstKey(), heap.deleteMin());
+                    decrement(expected, expected.firstKey());
+                }
+            }
+            Assert.assertEquals(expected.isEmpty() ? null : expected.firstKey(), heap.findMin());
+        }
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.firstKey(), heap.deleteMin());
+            decrement(expected, expected.firstKey());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testHandleIsInvalidatedByDeleteMin() throws Exception {
+        AddressablePriorityQueue<Integer> heap = create();
+        Handle<Integer> handle = heap.insert(1);
+        heap.insert(2);
+        Assert.assertTrue(heap.contains(handle));
+        heap.deleteMin();
+        Assert.assertFalse(heap.contains(handle));
+    }
+
+    @Test
+    public void testDecreaseKeyOfMinimum() throws Exception {
+        AddressablePriorityQueue<Integer> heap = create();
+        Handle<Integer> handle = heap.insert(5);
+        heap.insert(7);
+        heap.decreaseKey(handle, 1);
+        Assert.assertEquals(1, heap.deleteMin(), 0);
+        Assert.assertEquals(7, heap.deleteMin(), 0);
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void testNonComparable() throws Exception {
+        AddressablePriorityQueue<Object> heap =
+                (AddressablePriorityQueue<Object>) (AddressablePriorityQueue<?>) create();
+        heap.add(new Object());
+        heap.add(new Object());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNull() throws Exception {
+        create().add(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyWithGreaterValue() throws Exception {
+        AddressablePriorityQueue<Integer> heap = create();
+        heap.decreaseKey(heap.insert(1), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveForeignHandle() throws Exception {
+        AddressablePriorityQueue<Integer> heap = create();
+        heap.insert(1);
+        heap.remove(create().insert(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveTwice() throws Exception {
+        AddressablePriorityQueue<Integer> heap = create();
+        Handle<Integer> handle = heap.insert(1);
+        heap.remove(handle);
+        heap.remove(handle);
+    }
+
+    protected static void decrement(TreeMap<Integer, Integer> counts, int value) {
+        counts.computeIfPresent(value, (k, count) -> count == 1 ? null : count - 1);
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class AddressableBinaryHeapTest extends AbstractAddressablePriorityQueueTest {
+
+    @Override
+    protected AddressablePriorityQueue<Integer> create() {
+        return new AddressableBinaryHeap<>();
+    }
+}
@@ -1,9 +1,23 @@
 package com.github.ilyamurzinov.datastructures.heaps;
 
+import com.github.ilyamurzinov.datastructures.io.Codecs;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
 /**
  * @author Ilya Murzinov
  */
@@ -141,6 +155,221 @@ public class BinaryHeapTest {
         Assert.assertTrue(integerBinaryHeap.isEmpty());
     }
 
+    @Test
+    public void testRandomOperationsLikeJavaUtilPriorityQueue() throws Exception {
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0) {
+                int value = random.nextInt(1000);
+                expected.add(value);
+                integerBinaryHeap.add(value);
+            } else {
+                Assert.assertEquals(expected.poll(), integerBinaryHeap.deleteMin());
+            }
+            Assert.assertEquals(expected.peek(), integerBinaryHeap.findMin());
+        }
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.poll(), integerBinaryHeap.deleteMin());
+        }
+        Assert.assertTrue(integerBinaryHeap.isEmpty());
+    }
+
+    @Test
+    public void testBulkConstructor() throws Exception {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(42));
+
+        BinaryHeap<Integer> heap = BinaryHeap.of(values);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, heap.deleteMin(), 0);
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testNullComparatorConstructor() throws Exception {
+        BinaryHeap<Integer> heap = new BinaryHeap<>(null);
+        heap.add(2);
+        heap.add(1);
+        Assert.assertEquals(1, heap.deleteMin(), 0);
+    }
+
+    @Test
+    public void testAddAll() throws Exception {
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(42);
+        for (int batch = 0; batch < 50; batch++) {
+            Integer[] values = new Integer[random.nextInt(200)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(1000);
+            }
+            expected.addAll(Arrays.asList(values));
+            if (batch % 2 == 0) {
+                integerBinaryHeap.addAll(values);
+            } else {
+                integerBinaryHeap.addAll(Arrays.asList(values));
+            }
+            for (int i = random.nextInt(100); i > 0 && !expected.isEmpty(); i--) {
+                Assert.assertEquals(expected.poll(), integerBinaryHeap.deleteMin());
+            }
+        }
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.poll(), integerBinaryHeap.deleteMin());
+        }
+        Assert.assertTrue(integerBinaryHeap.isEmpty());
+    }
+
+    @Test
+    public void testAddAllWithNull() throws Exception {
+        integerBinaryHeap.add(5);
+        try {
+            integerBinaryHeap.addAll(Arrays.asList(3, null, 1));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals(5, integerBinaryHeap.deleteMin(), 0);
+            Assert.assertTrue(integerBinaryHeap.isEmpty());
+        }
+    }
+
+    @Test
+    public void testDrainTo() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            integerBinaryHeap.add(1000 - i - 1);
+        }
+        List<Integer> drained = new ArrayList<>();
+        Assert.assertEquals(1000, integerBinaryHeap.drainTo(drained::add));
+        Assert.assertTrue(integerBinaryHeap.isEmpty());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, drained.get(i), 0);
+        }
+    }
+
+    @Test
+    public void testDrainSorted() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            integerBinaryHeap.add(1000 - i - 1);
+        }
+        Integer[] out = new Integer[600];
+        Assert.assertEquals(600, integerBinaryHeap.drainSorted(out));
+        for (int i = 0; i < 600; i++) {
+            Assert.assertEquals(i, out[i], 0);
+        }
+        Assert.assertEquals(600, integerBinaryHeap.findMin(), 0);
+        Assert.assertEquals(400, integerBinaryHeap.drainSorted(out));
+        Assert.assertEquals(999, out[399], 0);
+        Assert.assertTrue(integerBinaryHeap.isEmpty());
+    }
+
+    @Test
+    public void testSort() throws Exception {
+        Random random = new Random(42);
+        for (int length = 0; length < 100; length++) {
+            Integer[] array = new Integer[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = random.nextInt(50);
+            }
+            Integer[] expected = array.clone();
+            Arrays.sort(expected);
+            BinaryHeap.sort(array);
+            Assert.assertArrayEquals(expected, array);
+
+            BinaryHeap.sort(array, (i1, i2) -> i2 - i1);
+            Arrays.sort(expected, Collections.reverseOrder());
+            Assert.assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    public void testHysteresisAvoidsReallocationsWhenOscillating() throws Exception {
+        BinaryHeap<Integer> defaultHeap = new BinaryHeap<>(16, null);
+        BinaryHeap<Integer> hysteresisHeap = new BinaryHeap<>(16, null, CapacityPolicy.geometric(2, 16, 0.1, 0.5));
+        for (BinaryHeap<Integer> heap : Arrays.asList(defaultHeap, hysteresisHeap)) {
+            for (int i = 0; i < 1024; i++) {
+                heap.add(i);
+            }
+            for (int round = 0; round < 100; round++) {
+                for (int i = 0; i < 800; i++) {
+                    heap.deleteMin();
+                }
+                for (int i = 0; i < 800; i++) {
+                    heap.add(i);
+                }
+            }
+        }
+        Assert.assertTrue(defaultHeap.getReallocationCount() > 100);
+        Assert.assertEquals(6, hysteresisHeap.getReallocationCount());
+        Assert.assertEquals(16 + 32 + 64 + 128 + 256 + 512, hysteresisHeap.getCopiedElementCount());
+    }
+
+    @Test
+    public void testDefaultPolicyHalvesBelowAQuarter() throws Exception {
+        BinaryHeap<Integer> heap = new BinaryHeap<>(16, null);
+        for (int i = 0; i < 64; i++) {
+            heap.add(i);
+        }
+        Assert.assertEquals(64, getCapacity(heap));
+        for (int i = 0; i < 49; i++) {
+            heap.deleteMin();
+        }
+        Assert.assertEquals(32, getCapacity(heap));
+        for (int i = 0; i < 8; i++) {
+            heap.deleteMin();
+        }
+        Assert.assertEquals(16, getCapacity(heap));
+    }
+
+    @Test
+    public void testDrainShrinksToMinimumCapacityAtOnce() throws Exception {
+        BinaryHeap<Integer> heap = new BinaryHeap<>(Collections.nCopies(1000, 1), null,
+                CapacityPolicy.geometric(2, 16, 0.25, 0.5));
+        long reallocations = heap.getReallocationCount();
+        Assert.assertEquals(1000, heap.drainTo(e -> { }));
+        Assert.assertEquals(16, getCapacity(heap));
+        Assert.assertEquals(reallocations + 1, heap.getReallocationCount());
+    }
+
+    @Test
+    public void testNoAutoShrinkAndTrimToSize() throws Exception {
+        BinaryHeap<Integer> heap = new BinaryHeap<>(16, null, CapacityPolicy.NO_AUTO_SHRINK);
+        for (int i = 0; i < 1000; i++) {
+            heap.add(i);
+        }
+        Assert.assertEquals(1024, getCapacity(heap));
+        for (int i = 0; i < 990; i++) {
+            heap.deleteMin();
+        }
+        Assert.assertEquals(1024, getCapacity(heap));
+
+        long reallocations = heap.getReallocationCount();
+        heap.trimToSize();
+        Assert.assertEquals(10, getCapacity(heap));
+        Assert.assertEquals(reallocations + 1, heap.getReallocationCount());
+        for (int i = 990; i < 1000; i++) {
+            Assert.assertEquals(i, heap.deleteMin(), 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacityPolicy() throws Exception {
+        CapacityPolicy.geometric(2, 16, 0.5, 0.25);
+    }
+
+    @Test
+    public void testReplaceMin() throws Exception {
+        Assert.assertNull(integerBinaryHeap.replaceMin(5));
+        integerBinaryHeap.add(3);
+        integerBinaryHeap.add(8);
+        Assert.assertEquals(3, integerBinaryHeap.replaceMin(10), 0);
+        Assert.assertEquals(3, integerBinaryHeap.size());
+        Assert.assertEquals(5, integerBinaryHeap.deleteMin(), 0);
+        Assert.assertEquals(8, integerBinaryHeap.deleteMin(), 0);
+        Assert.assertEquals(10, integerBinaryHeap.deleteMin(), 0);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testNonComparable() throws Exception {
         BinaryHeap<Object> heap = new BinaryHeap<>();
@@ -157,4 +386,70 @@ public class BinaryHeapTest {
         heap.add(3);
         Assert.assertEquals("BinaryHeap: [1, 2, 3]", heap.toString());
     }
+
+    private static int getCapacity(BinaryHeap<?> heap) throws Exception {
+        Field field = BinaryHeap.class.getDeclaredField("capacity");
+        field.setAccessible(true);
+        return (int) field.get(heap);
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        BinaryHeap<Integer> heap = new BinaryHeap<>();
+        Random random = new Random();
+        for (int i = 0; i < 1000; i++) {
+            heap.add(random.nextInt());
+        }
+        Object[] expected = heap.toArray();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        heap.writeSnapshot(Channels.newChannel(bytes), Codecs.INT);
+        BinaryHeap<Integer> restored = BinaryHeap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), Codecs.INT);
+
+        Assert.assertArrayEquals(expected, restored.toArray());
+        Integer previous = restored.deleteMin();
+        while (!restored.isEmpty()) {
+            Integer current = restored.deleteMin();
+            Assert.assertTrue(previous <= current);
+            previous = current;
+        }
+    }
+
+    @Test
+    public void testSnapshotWithAnotherComparator() throws Exception {
+        BinaryHeap<String> heap = BinaryHeap.of(Arrays.asList("b", "c", "a", "d"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        heap.writeSnapshot(Channels.newChannel(bytes), Codecs.STRING);
+        BinaryHeap<String> restored = BinaryHeap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), Codecs.STRING,
+                Comparator.reverseOrder());
+        Assert.assertEquals("d", restored.deleteMin());
+        Assert.assertEquals("c", restored.deleteMin());
+    }
+
+    @Test
+    public void testLargeSnapshot() throws Exception {
+        BinaryHeap<Integer> heap = new BinaryHeap<>();
+        for (int i = 0; i < 200000; i++) {
+            heap.add(i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        heap.writeSnapshot(Channels.newChannel(bytes), Codecs.INT);
+        BinaryHeap<Integer> restored = BinaryHeap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), Codecs.INT);
+
+        Assert.assertEquals(200000, getCapacity(restored));
+        Assert.assertArrayEquals(heap.toArray(), restored.toArray());
+    }
+
+    @Test(expected = EOFException.class)
+    public void testSnapshotWithCorruptedSize() throws Exception {
+        BinaryHeap<Integer> heap = BinaryHeap.of(Arrays.asList(1, 2, 3));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        heap.writeSnapshot(Channels.newChannel(bytes), Codecs.INT);
+        ByteBuffer snapshot = ByteBuffer.wrap(bytes.toByteArray());
+        snapshot.putInt(2 * Integer.BYTES, Integer.MAX_VALUE);
+        BinaryHeap.readSnapshot(Channels.newChannel(new ByteArrayInputStream(snapshot.array())), Codecs.INT);
+    }
 }
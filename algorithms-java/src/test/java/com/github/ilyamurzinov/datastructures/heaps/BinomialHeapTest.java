@@ -4,7 +4,12 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * @author Ilya Murzinov
@@ -186,6 +191,65 @@ public class BinomialHeapTest {
         Assert.assertEquals(-10, heap1.merge(heap2).findMin(), 0);
     }
 
+    @Test
+    public void testMergeLeavesBothHeapsIntact() throws Exception {
+        BinomialHeap<Integer> heap1 = new BinomialHeap<>();
+        BinomialHeap<Integer> heap2 = new BinomialHeap<>();
+        for (int i = 0; i < 10; i++) {
+            heap1.add(2 * i);
+            heap2.add(2 * i + 1);
+        }
+
+        BinomialHeap<Integer> merged = heap1.merge(heap2);
+        Assert.assertNotSame(heap1, merged);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i, merged.deleteMin(), 0);
+        }
+        Assert.assertTrue(merged.isEmpty());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(2 * i, heap1.deleteMin(), 0);
+            Assert.assertEquals(2 * i + 1, heap2.deleteMin(), 0);
+        }
+        Assert.assertTrue(heap1.isEmpty());
+        Assert.assertTrue(heap2.isEmpty());
+    }
+
+    @Test
+    public void testMergeWithItself() throws Exception {
+        integerBinomialHeap.add(1);
+        integerBinomialHeap.add(2);
+        BinomialHeap<Integer> merged = integerBinomialHeap.merge(integerBinomialHeap);
+        Assert.assertEquals(1, merged.deleteMin(), 0);
+        Assert.assertEquals(1, merged.deleteMin(), 0);
+        Assert.assertEquals(2, merged.deleteMin(), 0);
+        Assert.assertEquals(2, merged.deleteMin(), 0);
+        Assert.assertTrue(merged.isEmpty());
+        Assert.assertEquals(1, integerBinomialHeap.findMin(), 0);
+    }
+
+    @Test
+    public void testMeldMovesElements() throws Exception {
+        BinomialHeap<Integer> heap1 = new BinomialHeap<>();
+        BinomialHeap<Integer> heap2 = new BinomialHeap<>();
+        heap1.add(3);
+        heap1.add(1);
+        heap2.add(2);
+
+        Assert.assertSame(heap1, heap1.meld(heap2));
+        Assert.assertTrue(heap2.isEmpty());
+        Assert.assertNull(heap2.findMin());
+        Assert.assertEquals(1, heap1.deleteMin(), 0);
+        Assert.assertEquals(2, heap1.deleteMin(), 0);
+        Assert.assertEquals(3, heap1.deleteMin(), 0);
+        Assert.assertTrue(heap1.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMeldWithItself() throws Exception {
+        integerBinomialHeap.add(1);
+        integerBinomialHeap.meld(integerBinomialHeap);
+    }
+
     @Test
     public void testDeleteAddMerge() throws Exception {
         BinomialHeap<Integer> heap1 = new BinomialHeap<>();
@@ -232,6 +296,80 @@ public class BinomialHeapTest {
         }
     }
 
+    @Test
+    public void testRandomOperationsLikeJavaUtilPriorityQueue() throws Exception {
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0) {
+                int value = random.nextInt(1000);
+                expected.add(value);
+                integerBinomialHeap.add(value);
+            } else {
+                Assert.assertEquals(expected.poll(), integerBinomialHeap.deleteMin());
+            }
+            Assert.assertEquals(expected.peek(), integerBinomialHeap.findMin());
+        }
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.poll(), integerBinomialHeap.deleteMin());
+        }
+        Assert.assertTrue(integerBinomialHeap.isEmpty());
+    }
+
+    @Test
+    public void testParallelFrom() throws Exception {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(42));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BinomialHeap<Integer> heap = BinomialHeap.parallelFrom(values, pool);
+            for (int i = 0; i < 100000; i++) {
+                Assert.assertEquals(i, heap.deleteMin(), 0);
+            }
+            Assert.assertTrue(heap.isEmpty());
+
+            BinomialHeap<Integer> reversed = BinomialHeap.parallelFrom(values, (i1, i2) -> i2 - i1, pool);
+            Assert.assertEquals(99999, reversed.findMin(), 0);
+            Assert.assertTrue(BinomialHeap.parallelFrom(Collections.<Integer>emptyList(), pool).isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCollector() throws Exception {
+        BinomialHeap<Integer> heap = IntStream.range(0, 100000).map(i -> 99999 - i).boxed().parallel()
+                .collect(BinomialHeap.collector());
+        for (int i = 0; i < 100000; i++) {
+            Assert.assertEquals(i, heap.deleteMin(), 0);
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDrainSorted() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            integerBinomialHeap.add(9 - i);
+        }
+        Integer[] out = new Integer[4];
+        Assert.assertEquals(4, integerBinomialHeap.drainSorted(out));
+        Assert.assertArrayEquals(new Integer[]{0, 1, 2, 3}, out);
+
+        List<Integer> rest = new ArrayList<>();
+        Assert.assertEquals(6, integerBinomialHeap.drainTo(rest::add));
+        Assert.assertEquals(java.util.Arrays.asList(4, 5, 6, 7, 8, 9), rest);
+        Assert.assertTrue(integerBinomialHeap.isEmpty());
+    }
+
+    @Test
+    public void testToStringOfEmptyHeap() throws Exception {
+        Assert.assertEquals("BinomialHeap[trees (size: 0]", integerBinomialHeap.toString());
+    }
+
     @Test
     public void testToString() throws Exception {
         stringBinomialHeap.add("aaaab");
@@ -0,0 +1,79 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class DaryHeapTest {
+
+    @Test
+    public void testRandomOperationsLikeJavaUtilPriorityQueue() throws Exception {
+        for (int arity = 2; arity <= 8; arity++) {
+            DaryHeap<Integer> heap = new DaryHeap<>(arity);
+            java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+            Random random = new Random(arity);
+            for (int i = 0; i < 20000; i++) {
+                if (random.nextInt(3) > 0) {
+                    int value = random.nextInt(1000);
+                    expected.add(value);
+                    heap.add(value);
+                } else {
+                    Assert.assertEquals(expected.poll(), heap.deleteMin());
+                }
+                Assert.assertEquals(expected.peek(), heap.findMin());
+            }
+            while (!expected.isEmpty()) {
+                Assert.assertEquals(expected.poll(), heap.deleteMin());
+            }
+            Assert.assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test
+    public void testAddIntegerWithReverseComparator() throws Exception {
+        DaryHeap<Integer> heap = new DaryHeap<>(4, (i1, i2) -> i2 - i1);
+        for (int i = 0; i < 1000; i++) {
+            heap.add(i);
+        }
+        Assert.assertEquals(999, heap.findMin(), 0);
+    }
+
+    @Test
+    public void testDeleteFromEmptyHeap() throws Exception {
+        DaryHeap<Integer> heap = new DaryHeap<>();
+        Assert.assertNull(heap.findMin());
+        Assert.assertNull(heap.deleteMin());
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNull() throws Exception {
+        new DaryHeap<Integer>().add(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidArity() throws Exception {
+        new DaryHeap<Integer>(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonComparable() throws Exception {
+        DaryHeap<Object> heap = new DaryHeap<>();
+        heap.add(new Object());
+        heap.add(new Object());
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        DaryHeap<Integer> heap = new DaryHeap<>();
+        Assert.assertEquals("DaryHeap: []", heap.toString());
+        heap.add(1);
+        heap.add(2);
+        heap.add(3);
+        Assert.assertEquals("DaryHeap: [1, 2, 3]", heap.toString());
+    }
+}
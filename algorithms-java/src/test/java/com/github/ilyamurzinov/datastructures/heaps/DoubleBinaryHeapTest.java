@@ -0,0 +1,43 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class DoubleBinaryHeapTest {
+
+    @Test
+    public void testRandomOperationsLikeJavaUtilPriorityQueue() throws Exception {
+        DoubleBinaryHeap heap = new DoubleBinaryHeap();
+        java.util.PriorityQueue<Double> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0) {
+                double key = random.nextGaussian();
+                expected.add(key);
+                heap.add(key);
+            } else if (!expected.isEmpty()) {
+                Assert.assertEquals(expected.poll(), heap.deleteMin(), 0);
+            }
+        }
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.poll(), heap.deleteMin(), 0);
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNaN() throws Exception {
+        new DoubleBinaryHeap().add(Double.NaN);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFindMinFromEmptyHeap() throws Exception {
+        new DoubleBinaryHeap().findMin();
+    }
+}
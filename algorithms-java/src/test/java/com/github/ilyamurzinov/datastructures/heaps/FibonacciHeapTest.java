@@ -0,0 +1,60 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import com.github.ilyamurzinov.datastructures.heaps.AddressablePriorityQueue.Handle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class FibonacciHeapTest extends AbstractAddressablePriorityQueueTest {
+
+    @Override
+    protected AddressablePriorityQueue<Integer> create() {
+        return new FibonacciHeap<>();
+    }
+
+    @Test
+    public void testMeldKeepsHandles() throws Exception {
+        Random random = new Random(42);
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        List<Handle<Integer>> handles = new ArrayList<>();
+        for (int j = 0; j < 100; j++) {
+            FibonacciHeap<Integer> other = new FibonacciHeap<>();
+            for (int i = 0; i < 100; i++) {
+                int value = random.nextInt(100000);
+                handles.add(other.insert(value));
+            }
+            other.deleteMin();
+            Assert.assertSame(heap, heap.meld(other));
+            Assert.assertTrue(other.isEmpty());
+            Assert.assertEquals(0, other.size());
+            for (int i = 0; i < 10; i++) {
+                heap.deleteMin();
+            }
+        }
+        for (Handle<Integer> handle : handles) {
+            if (heap.contains(handle)) {
+                int newValue = handle.getValue() - random.nextInt(1000);
+                heap.decreaseKey(handle, newValue);
+                expected.add(newValue);
+            }
+        }
+        Assert.assertEquals(expected.size(), heap.size());
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.poll(), heap.deleteMin());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMeldWithItself() throws Exception {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.meld(heap);
+    }
+}
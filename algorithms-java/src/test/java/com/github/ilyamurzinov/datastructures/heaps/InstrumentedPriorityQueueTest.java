@@ -0,0 +1,96 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class InstrumentedPriorityQueueTest {
+
+    private Random random = new Random();
+
+    @Test
+    public void queueShouldBehaveLikeDelegate() throws Exception {
+        InstrumentedPriorityQueue<Integer> queue = new InstrumentedPriorityQueue<>(BinomialHeap::new, null, 1);
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        for (int i = 0; i < 10000; i++) {
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.poll(), queue.deleteMin());
+            } else {
+                int element = random.nextInt(1000);
+                expected.add(element);
+                queue.add(element);
+            }
+            assertEquals(expected.size(), queue.size());
+            assertEquals(expected.peek(), queue.findMin());
+        }
+    }
+
+    @Test
+    public void queueShouldRecordCountsAndHighWaterMark() throws Exception {
+        InstrumentedPriorityQueue<Integer> queue = new InstrumentedPriorityQueue<>(BinaryHeap::new, null, 4);
+        for (int i = 100; i > 0; i--) {
+            queue.add(i);
+        }
+        for (int i = 0; i < 60; i++) {
+            queue.deleteMin();
+        }
+        assertNull(new InstrumentedPriorityQueue<>(new BinaryHeap<Integer>(), 1).deleteMin());
+
+        assertEquals(100, queue.getAddCount());
+        assertEquals(60, queue.getDeleteMinCount());
+        assertEquals(25, queue.getAddLatency().getCount());
+        assertEquals(15, queue.getDeleteMinLatency().getCount());
+        assertEquals(40, queue.size());
+        assertEquals(100, queue.getHighWaterMark());
+        assertEquals(100, queue.resetHighWaterMark());
+        assertEquals(40, queue.getHighWaterMark());
+        assertTrue(queue.getComparisonCount() >= 99 + 60);
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(40, queue.drainTo(drained::add));
+        assertEquals(0, queue.size());
+        assertEquals(Integer.valueOf(61), drained.get(0));
+    }
+
+    @Test
+    public void wrappingShouldNotCountComparisons() throws Exception {
+        InstrumentedPriorityQueue<Integer> queue = new InstrumentedPriorityQueue<>(new DaryHeap<Integer>(), 1);
+        queue.add(2);
+        queue.add(1);
+        assertEquals(0, queue.getComparisonCount());
+        assertEquals(Integer.valueOf(1), queue.deleteMin());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrappingShouldRejectNonEmptyQueues() throws Exception {
+        BinaryHeap<Integer> heap = new BinaryHeap<>();
+        heap.add(1);
+        new InstrumentedPriorityQueue<>(heap, 1);
+    }
+
+    @Test
+    public void histogramShouldReportPercentilesWithinPrecision() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100000, histogram.getMax());
+        assertEquals(50000.5, histogram.getMean(), 1e-9);
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            long expected = (long) (percentile * 1000);
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected && actual <= expected * 1.04);
+        }
+        assertEquals(100000, histogram.getValueAtPercentile(100));
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(50));
+    }
+}
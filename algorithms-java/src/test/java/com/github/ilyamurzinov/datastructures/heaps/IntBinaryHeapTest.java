@@ -0,0 +1,41 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class IntBinaryHeapTest {
+
+    @Test
+    public void testRandomOperationsWithPayloads() throws Exception {
+        IntBinaryHeap heap = new IntBinaryHeap();
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0) {
+                int key = random.nextInt();
+                expected.add(key);
+                heap.add(key, ~key);
+            } else if (!expected.isEmpty()) {
+                int key = expected.poll();
+                Assert.assertEquals(key, heap.findMin());
+                Assert.assertEquals(~key, heap.findMinPayload());
+                Assert.assertEquals(key, heap.deleteMin());
+            }
+        }
+        while (!expected.isEmpty()) {
+            Assert.assertEquals((int) expected.poll(), heap.deleteMin());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinFromEmptyHeap() throws Exception {
+        new IntBinaryHeap().deleteMin();
+    }
+}
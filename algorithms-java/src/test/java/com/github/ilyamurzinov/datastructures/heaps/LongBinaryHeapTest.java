@@ -0,0 +1,83 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class LongBinaryHeapTest {
+
+    @Test
+    public void testRandomOperationsLikeJavaUtilPriorityQueue() throws Exception {
+        LongBinaryHeap heap = new LongBinaryHeap();
+        java.util.PriorityQueue<Long> expected = new java.util.PriorityQueue<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0) {
+                long key = random.nextLong();
+                expected.add(key);
+                heap.add(key);
+            } else if (!expected.isEmpty()) {
+                Assert.assertEquals((long) expected.poll(), heap.deleteMin());
+            }
+            Assert.assertEquals(expected.size(), heap.size());
+        }
+        while (!expected.isEmpty()) {
+            Assert.assertEquals((long) expected.poll(), heap.deleteMin());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testPayloads() throws Exception {
+        LongBinaryHeap heap = new LongBinaryHeap(1);
+        heap.add(30);
+        for (int i = 0; i < 100; i++) {
+            heap.add(1000 - i, i);
+        }
+        Assert.assertEquals(30, heap.findMin());
+        Assert.assertEquals(0, heap.findMinPayload());
+        heap.deleteMin();
+        for (int i = 99; i >= 0; i--) {
+            Assert.assertEquals(1000 - i, heap.findMin());
+            Assert.assertEquals(i, heap.findMinPayload());
+            heap.deleteMin();
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        LongBinaryHeap heap = new LongBinaryHeap();
+        heap.add(1);
+        heap.add(2);
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        heap.add(3);
+        Assert.assertEquals(3, heap.deleteMin());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFindMinFromEmptyHeap() throws Exception {
+        new LongBinaryHeap().findMin();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinFromEmptyHeap() throws Exception {
+        new LongBinaryHeap().deleteMin();
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        LongBinaryHeap heap = new LongBinaryHeap();
+        Assert.assertEquals("LongBinaryHeap: []", heap.toString());
+        heap.add(1);
+        heap.add(2);
+        heap.add(3);
+        Assert.assertEquals("LongBinaryHeap: [1, 2, 3]", heap.toString());
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class MultiQueueTest {
+
+    @Test
+    public void testSingleQueueIsExact() throws Exception {
+        MultiQueue<Integer> queue = new MultiQueue<>(1, null);
+        for (int i = 0; i < 1000; i++) {
+            queue.add(1000 - i - 1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, queue.findMin(), 0);
+            Assert.assertEquals(i, queue.deleteMin(), 0);
+        }
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertNull(queue.deleteMin());
+    }
+
+    @Test
+    public void testDeleteMinReturnsEveryElement() throws Exception {
+        MultiQueue<Integer> queue = new MultiQueue<>(8, null);
+        for (int i = 0; i < 1000; i++) {
+            queue.add(i);
+        }
+        Assert.assertEquals(0, queue.findMin(), 0);
+
+        List<Integer> removed = new ArrayList<>();
+        Integer element;
+        while ((element = queue.deleteMin()) != null) {
+            removed.add(element);
+        }
+        Collections.sort(removed);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, removed.get(i), 0);
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentAddAndDeleteMin() throws Exception {
+        int threads = 8;
+        int perThread = 20000;
+        MultiQueue<Integer> queue = new MultiQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                futures.add(executor.submit((Callable<List<Integer>>) () -> {
+                    List<Integer> removed = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        queue.add(offset + i);
+                        if (i % 2 == 1) {
+                            removed.add(queue.deleteMin());
+                        }
+                    }
+                    return removed;
+                }));
+            }
+
+            List<Integer> removed = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                removed.addAll(future.get());
+            }
+            Integer element;
+            while ((element = queue.deleteMin()) != null) {
+                removed.add(element);
+            }
+
+            Assert.assertFalse(removed.contains(null));
+            Collections.sort(removed);
+            Assert.assertEquals(threads * perThread, removed.size());
+            for (int i = 0; i < removed.size(); i++) {
+                Assert.assertEquals(i, removed.get(i), 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNull() throws Exception {
+        new MultiQueue<Integer>().add(null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class TopKTest {
+
+    @Test
+    public void testOffer() throws Exception {
+        TopK<Integer> topK = new TopK<>(3);
+        for (int value : new int[]{5, 1, 9, 3, 7, 9, 2}) {
+            topK.offer(value);
+        }
+        Assert.assertEquals(3, topK.size());
+        Assert.assertEquals(Arrays.asList(9, 9, 7), topK.toList());
+    }
+
+    @Test
+    public void testFewerElementsThanK() throws Exception {
+        TopK<Integer> topK = new TopK<>(10);
+        topK.offer(2);
+        topK.offer(1);
+        Assert.assertEquals(Arrays.asList(2, 1), topK.toList());
+    }
+
+    @Test
+    public void testComparator() throws Exception {
+        TopK<String> topK = new TopK<>(2, Comparator.comparingInt(String::length));
+        for (String s : new String[]{"aaa", "a", "aaaaa", "aa", "aaaa"}) {
+            topK.offer(s);
+        }
+        Assert.assertEquals(Arrays.asList("aaaaa", "aaaa"), topK.toList());
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        TopK<Integer> topK1 = new TopK<>(3);
+        TopK<Integer> topK2 = new TopK<>(3);
+        Arrays.asList(1, 10, 4).forEach(topK1);
+        Arrays.asList(8, 2, 6).forEach(topK2);
+        Assert.assertEquals(Arrays.asList(10, 8, 6), topK1.merge(topK2).toList());
+    }
+
+    @Test
+    public void testParallelCollector() throws Exception {
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(random.nextInt());
+        }
+
+        List<Integer> expected = new ArrayList<>(values);
+        expected.sort(Collections.reverseOrder());
+
+        Assert.assertEquals(expected.subList(0, 100), values.parallelStream().collect(TopK.collector(100)));
+        Assert.assertEquals(
+                IntStream.range(0, 10).boxed().collect(Collectors.toList()),
+                IntStream.range(0, 1000).boxed().parallel()
+                        .collect(TopK.collector(10, (Integer i1, Integer i2) -> i2 - i1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfferNull() throws Exception {
+        new TopK<Integer>(1).offer(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidK() throws Exception {
+        new TopK<Integer>(0);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.ilyamurzinov.datastructures.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class SnapshotTest {
+
+    @Test
+    public void readerShouldReadWhatWriterWrote() throws Exception {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            large.append("\u00e9\u4e2d\ud83d\ude00");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotWriter out = new SnapshotWriter(Channels.newChannel(bytes), 16);
+        out.writeByte(7);
+        out.writeInt(42);
+        out.writeLong(1L << 40);
+        out.writeDouble(0.5);
+        out.write(Codecs.STRING, "short");
+        out.write(Codecs.STRING, large.toString());
+        out.write(Codecs.fixedWidthString(8), "fixed");
+        out.write(Codecs.LONG, -1L);
+        out.flush();
+
+        SnapshotReader in = new SnapshotReader(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), 16);
+        assertEquals(7, in.readByte());
+        assertEquals(42, in.readInt());
+        assertEquals(1L << 40, in.readLong());
+        assertEquals(0.5, in.readDouble(), 0);
+        assertEquals("short", in.read(Codecs.STRING));
+        assertEquals(large.toString(), in.read(Codecs.STRING));
+        assertEquals("fixed", in.read(Codecs.fixedWidthString(8)));
+        assertEquals(-1L, (long) in.read(Codecs.LONG));
+    }
+
+    @Test
+    public void stringSizeShouldMatchEncoding() throws Exception {
+        for (String value : new String[]{"", "ascii", "\u00e9", "\u4e2d", "\ud83d\ude00", "\ud83d", "a\ude00b"}) {
+            assertEquals(value.getBytes("UTF-8").length, Codecs.STRING.size(value));
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void readerShouldFailAtEndOfStream() throws Exception {
+        new SnapshotReader(Channels.newChannel(new ByteArrayInputStream(new byte[3]))).readInt();
+    }
+
+    @Test(expected = EOFException.class)
+    public void readerShouldFailOnTruncatedString() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotWriter out = new SnapshotWriter(Channels.newChannel(bytes), 16);
+        out.write(Codecs.STRING, "a string longer than the buffer");
+        out.flush();
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        new SnapshotReader(Channels.newChannel(new ByteArrayInputStream(truncated)), 16).read(Codecs.STRING);
+    }
+
+    @Test
+    public void readerShouldRejectCorruptedStringSize() throws Exception {
+        for (int size : new int[]{-1, SnapshotReader.MAX_VALUE_SIZE + 1, Integer.MAX_VALUE}) {
+            ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES + 3);
+            bytes.putInt(size).put(new byte[]{'a', 'b', 'c'});
+            SnapshotReader in = new SnapshotReader(Channels.newChannel(new ByteArrayInputStream(bytes.array())));
+            try {
+                in.read(Codecs.STRING);
+                fail();
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains(String.valueOf(size)));
+            }
+        }
+    }
+
+    @Test
+    public void fixedWidthStringShouldRejectCorruptedLength() throws Exception {
+        FixedWidthCodec<String> codec = Codecs.fixedWidthString(8);
+        ByteBuffer buffer = ByteBuffer.allocate(codec.width());
+        for (short length : new short[]{-1, 9, Short.MAX_VALUE}) {
+            buffer.putShort(0, length);
+            try {
+                codec.read(buffer, 0);
+                fail();
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains(String.valueOf(length)));
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class ConcurrentHashMapTest {
+
+    private static final int THREADS = 8;
+
+    private Random random = new Random();
+
+    @Test
+    public void mapShouldMatchJavaUtilHashMap() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1 << 16; i++) {
+            int key = random.nextInt(1 << 12);
+            int value = random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                case 1:
+                    assertEquals(expected.putIfAbsent(key, value), map.putIfAbsent(key, value));
+                    break;
+                default:
+                    assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int key = 0; key < 1 << 12; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapShouldNotAcceptNullKey() throws Exception {
+        new ConcurrentHashMap<String, String>().put(null, "value");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapShouldNotAcceptNullValue() throws Exception {
+        new ConcurrentHashMap<String, String>().put("key", null);
+    }
+
+    @Test
+    public void mapShouldMergeAndComputeIfAbsent() throws Exception {
+        ConcurrentHashMap<String, Integer> map = new ConcurrentHashMap<>();
+        assertEquals(1, map.merge("a", 1, Integer::sum), 0);
+        assertEquals(3, map.merge("a", 2, Integer::sum), 0);
+        assertNull(map.merge("a", 0, (a, b) -> null));
+        assertFalse(map.containsKey("a"));
+
+        assertEquals(42, map.computeIfAbsent("b", k -> 42), 0);
+        assertEquals(42, map.computeIfAbsent("b", k -> 43), 0);
+        assertNull(map.computeIfAbsent("c", k -> null));
+        assertFalse(map.containsKey("c"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void mapShouldClearCorrectly() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < 1 << 10; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.keySet().iterator().hasNext());
+    }
+
+    @Test
+    public void mapShouldPutConcurrentlyWhileResizing() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>(2);
+        int perThread = 1 << 14;
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = thread * perThread + i;
+                map.put(key, key);
+                assertEquals(key, map.get(key), 0);
+            }
+        });
+
+        assertEquals(THREADS * perThread, map.size());
+        for (int key = 0; key < THREADS * perThread; key++) {
+            assertEquals(key, map.get(key), 0);
+        }
+        assertEquals(THREADS * perThread, new HashSet<>(map.keySet()).size());
+    }
+
+    @Test
+    public void mapShouldMergeAtomically() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        int increments = 1 << 12;
+        runConcurrently(thread -> {
+            for (int i = 0; i < increments; i++) {
+                map.merge(i % 64, 1, Integer::sum);
+            }
+        });
+
+        for (int key = 0; key < 64; key++) {
+            assertEquals(THREADS * increments / 64, map.get(key), 0);
+        }
+    }
+
+    @Test
+    public void mapShouldComputeIfAbsentOnce() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        AtomicInteger calls = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = 0; i < 1 << 12; i++) {
+                map.computeIfAbsent(i, k -> {
+                    calls.incrementAndGet();
+                    return k;
+                });
+            }
+        });
+
+        assertEquals(1 << 12, calls.get());
+        assertEquals(1 << 12, map.size());
+    }
+
+    @Test
+    public void mapShouldRejectRecursiveUpdateOfReservedBin() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        try {
+            map.computeIfAbsent(1, key -> map.computeIfAbsent(1, k -> 2));
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("Recursive update", e.getMessage());
+        }
+        try {
+            map.computeIfAbsent(1, key -> map.put(1, 2));
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("Recursive update", e.getMessage());
+        }
+        assertTrue(map.isEmpty());
+        assertEquals(Integer.valueOf(3), map.computeIfAbsent(1, key -> 3));
+    }
+
+    private void runConcurrently(ThreadBody body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    body.run(id);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
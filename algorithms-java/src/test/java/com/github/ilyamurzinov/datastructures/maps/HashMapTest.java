@@ -1,11 +1,28 @@
 package com.github.ilyamurzinov.datastructures.maps;
 
+import com.github.ilyamurzinov.datastructures.io.Codec;
+import com.github.ilyamurzinov.datastructures.io.Codecs;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import static org.junit.Assert.*;
 
@@ -472,6 +489,450 @@ public class HashMapTest {
         assertEquals(capacity, getCapacity(map), 0);
     }
 
+    @Test
+    public void mapShouldKeepEntriesWhenResizing() throws Exception {
+        Map<Integer, Integer> map = new HashMap<>(1 << 4, 0.75);
+        for (int i = 0; i < 8; i++) {
+            map.put(i, i);
+        }
+        Set<Map.Entry<Integer, Integer>> entries = Collections.newSetFromMap(new IdentityHashMap<>());
+        entries.addAll(map.entrySet());
+
+        for (int i = 8; i < 1 << 10; i++) {
+            map.put(i, i);
+        }
+
+        int found = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            if (entries.contains(entry)) {
+                found++;
+            }
+        }
+        assertEquals(8, found);
+    }
+
+    @Test
+    public void mapShouldResizeIncrementally() throws Exception {
+        Map<Integer, Integer> map = new HashMap<>(1 << 4, 0.75, true);
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1 << 14; i++) {
+            int key = random.nextInt(1 << 12);
+            int value = random.nextInt();
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.get(i & ((1 << 12) - 1)), map.get(i & ((1 << 12) - 1)));
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+        }
+    }
+
+    @Test
+    public void mapShouldResizeIncrementallyWithConstantHashCode() throws Exception {
+        Map<TestClass0, String> map = new HashMap<>(1 << 4, 0.75, true);
+        map.put(null, "null");
+        for (int i = 0; i < 1 << 10; i++) {
+            map.put(new TestClass0(i), "value" + i);
+        }
+        for (int i = 0; i < 1 << 10; i++) {
+            assertEquals("value" + i, map.get(new TestClass0(i)));
+        }
+        assertEquals("null", map.get(null));
+        assertEquals((1 << 10) + 1, map.size());
+        assertEquals((1 << 10) + 1, map.keySet().size());
+    }
+
+    @Test
+    public void mapShouldClearDuringIncrementalResize() throws Exception {
+        Map<Integer, Integer> map = new HashMap<>(1 << 4, 0.75, true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.keySet().iterator().hasNext());
+        map.put(1, 1);
+        assertEquals(1, map.get(1), 0);
+    }
+
+    @Test
+    public void mapShouldTreeifyAndUntreeifyCollidingBucket() throws Exception {
+        Map<ComparableTestClass, Integer> map = new HashMap<>(1 << 7);
+        for (int i = 0; i < 1 << 7; i++) {
+            map.put(new ComparableTestClass(i, 0), i);
+        }
+        assertEquals("TreeEntry", getBucket(map, 0).getClass().getSimpleName());
+        for (int i = 0; i < 1 << 7; i++) {
+            assertEquals(i, map.get(new ComparableTestClass(i, 0)), 0);
+        }
+
+        for (int i = 0; i < (1 << 7) - 2; i++) {
+            assertEquals(i, map.remove(new ComparableTestClass(i, 0)), 0);
+        }
+        assertEquals("HashMapEntry", getBucket(map, 0).getClass().getSimpleName());
+        assertEquals(2, map.size());
+        assertEquals((1 << 7) - 1, map.get(new ComparableTestClass((1 << 7) - 1, 0)), 0);
+    }
+
+    @Test
+    public void mapShouldHandleCollidingKeysLikeJavaUtilHashMap() throws Exception {
+        for (boolean incrementalResize : new boolean[]{false, true}) {
+            Map<Object, Integer> map = new HashMap<>(1 << 4, 0.75, incrementalResize);
+            java.util.Map<Object, Integer> expected = new java.util.HashMap<>();
+            for (int i = 0; i < 1 << 15; i++) {
+                int id = random.nextInt(1 << 9);
+                Object key = random.nextBoolean() ? new ComparableTestClass(id, id % 3) : new TestClass42(id);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                }
+                assertEquals(expected.size(), map.size());
+            }
+
+            for (java.util.Map.Entry<Object, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+        }
+    }
+
+    @Test
+    public void snapshotShouldRestoreEntriesAndCapacity() throws Exception {
+        HashMap<String, Integer> map = new HashMap<>(1 << 4, 0.5);
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+        map.put(null, -1);
+        map.put("null", null);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        map.writeSnapshot(Channels.newChannel(bytes), Codecs.STRING, Codecs.INT);
+        HashMap<String, Integer> restored = HashMap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), Codecs.STRING, Codecs.INT);
+
+        assertEquals(map.size(), restored.size());
+        assertEquals(getCapacity(map), getCapacity(restored));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, restored.get("key" + i), 0);
+        }
+        assertEquals(-1, restored.get(null), 0);
+        assertTrue(restored.containsKey("null"));
+        assertNull(restored.get("null"));
+        restored.put("key1000", 1000);
+        assertEquals(1003, restored.size());
+    }
+
+    @Test
+    public void snapshotShouldRestoreTreeBuckets() throws Exception {
+        HashMap<ComparableTestClass, Integer> map = new HashMap<>(1 << 7);
+        for (int i = 0; i < 1 << 7; i++) {
+            map.put(new ComparableTestClass(i, 0), i);
+        }
+        Codec<ComparableTestClass> codec = new Codec<ComparableTestClass>() {
+            @Override
+            public int size(ComparableTestClass value) {
+                return 2 * Integer.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, ComparableTestClass value) {
+                buffer.putInt(value.i).putInt(value.hashCode);
+            }
+
+            @Override
+            public ComparableTestClass read(ByteBuffer buffer) {
+                return new ComparableTestClass(buffer.getInt(), buffer.getInt());
+            }
+        };
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        map.writeSnapshot(Channels.newChannel(bytes), codec, Codecs.INT);
+        HashMap<ComparableTestClass, Integer> restored = HashMap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), codec, Codecs.INT);
+
+        assertEquals("TreeEntry", getBucket(restored, 0).getClass().getSimpleName());
+        for (int i = 0; i < 1 << 7; i++) {
+            assertEquals(i, restored.get(new ComparableTestClass(i, 0)), 0);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void snapshotShouldRejectForeignStreams() throws Exception {
+        HashMap.readSnapshot(Channels.newChannel(new ByteArrayInputStream(new byte[64])), Codecs.INT, Codecs.INT);
+    }
+
+    @Test
+    public void statsShouldCountOperationsOnlyWhenEnabled() throws Exception {
+        HashMap<Integer, Integer> map = new HashMap<>(1 << 4);
+        map.put(0, 0);
+        assertFalse(map.isStatisticsEnabled());
+        assertEquals(0, map.getStats().getPutCount());
+
+        map.setStatisticsEnabled(true);
+        for (int i = 1; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 200; i++) {
+            map.get(i);
+        }
+        map.remove(1);
+        HashMapStats stats = map.getStats();
+        assertEquals(99, stats.getPutCount());
+        assertEquals(200, stats.getGetCount());
+        assertEquals(1, stats.getRemoveCount());
+        assertEquals(4, stats.getResizeCount());
+        assertTrue(stats.getResizeNanos() > 0);
+        assertEquals(99, stats.getSize());
+        assertEquals(1 << 8, stats.getCapacity());
+        long buckets = 0;
+        long entries = 0;
+        for (int i = 0; i < stats.getChainLengthHistogram().length; i++) {
+            buckets += stats.getChainLengthHistogram()[i];
+            entries += i * stats.getChainLengthHistogram()[i];
+        }
+        assertEquals(stats.getCapacity(), buckets);
+        assertEquals(stats.getSize(), entries);
+        assertEquals(stats.getCapacity() - stats.getChainLengthHistogram()[0], stats.getOccupiedBuckets());
+
+        map.setStatisticsEnabled(false);
+        map.get(0);
+        assertEquals(0, map.getStats().getGetCount());
+    }
+
+    @Test
+    public void statsShouldExposeCollisions() throws Exception {
+        HashMap<TestClass42, Integer> map = new HashMap<>(1 << 4);
+        map.setStatisticsEnabled(true);
+        for (int i = 0; i < 7; i++) {
+            map.put(new TestClass42(i), i);
+        }
+        assertNull(map.get(new TestClass42(42)));
+        assertEquals(7, map.getStats().getMaxGetProbeLength());
+        assertEquals(6, map.getStats().getMaxPutProbeLength());
+        assertEquals(3.0, map.getStats().getAveragePutProbeLength(), 0);
+
+        HashMapStats stats = map.getStats();
+        long[] histogram = stats.getChainLengthHistogram();
+        assertEquals(1, stats.getOccupiedBuckets());
+        assertEquals(7, stats.getMaxChainLength());
+        assertEquals(1, histogram[7]);
+        assertEquals(stats.getCapacity() - 1, histogram[0]);
+    }
+
+    @Test
+    public void statsMXBeanShouldBeRegistrable() throws Exception {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        map.setStatisticsEnabled(true);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.github.ilyamurzinov.datastructures:type=HashMap,name=test");
+        server.registerMBean(map.getStatsMXBean(), name);
+        try {
+            map.put(1, 1);
+            assertEquals(1, server.getAttribute(name, "Size"));
+            assertEquals(1L, server.getAttribute(name, "PutCount"));
+            assertArrayEquals(map.getStats().getChainLengthHistogram(),
+                    (long[]) server.getAttribute(name, "ChainLengthHistogram"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    public void mapShouldUseHashingStrategy() throws Exception {
+        HashMap<int[], String> map = new HashMap<>(new HashingStrategy<int[]>() {
+            @Override
+            public int hashCode(int[] key) {
+                return Arrays.hashCode(key);
+            }
+
+            @Override
+            public boolean equals(int[] key1, int[] key2) {
+                return Arrays.equals(key1, key2);
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            map.put(new int[]{i, -i}, "value" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals("value" + i, map.get(new int[]{i, -i}));
+        }
+        assertNull(map.get(new int[]{1, 1}));
+        assertEquals("value1", map.remove(new int[]{1, -1}));
+        assertEquals(99, map.size());
+    }
+
+    @Test
+    public void treeBucketsShouldNotUseNaturalOrderWithCustomStrategy() throws Exception {
+        HashMap<String, Integer> map = new HashMap<>(1 << 7, 0.75, false, new HashingStrategy<String>() {
+            @Override
+            public int hashCode(String key) {
+                return 0;
+            }
+
+            @Override
+            public boolean equals(String key1, String key2) {
+                return key1.equalsIgnoreCase(key2);
+            }
+        }, false);
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals("TreeEntry", getBucket(map, 0).getClass().getSimpleName());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get("KEY" + i), 0);
+        }
+        assertEquals(0, map.put("Key0", -1), 0);
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i == 0 ? -1 : i, map.remove("kEy" + i), 0);
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void seededMapsShouldPlaceKeysDifferently() throws Exception {
+        HashMap<Integer, Integer> map1 = new HashMap<>(1 << 10, 0.75, false, HashingStrategy.DEFAULT, true);
+        HashMap<Integer, Integer> map2 = new HashMap<>(1 << 10, 0.75, false, HashingStrategy.DEFAULT, true);
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1 << 12; i++) {
+            int key = random.nextInt(1 << 10);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map1.remove(key));
+                map2.remove(key);
+            } else {
+                assertEquals(expected.put(key, i), map1.put(key, i));
+                map2.put(key, i);
+            }
+        }
+        assertEquals(expected.keySet(), new HashSet<>(map1.keySet()));
+        assertEquals(expected.keySet(), new HashSet<>(map2.keySet()));
+        assertNotEquals(new ArrayList<>(map1.keySet()), new ArrayList<>(map2.keySet()));
+    }
+
+    @Test
+    public void viewsShouldBeCachedAndUseHashedLookups() throws Exception {
+        HashMap<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value" + i);
+        }
+        assertSame(map.keySet(), map.keySet());
+        assertSame(map.values(), map.values());
+        assertSame(map.entrySet(), map.entrySet());
+        assertTrue(map.keySet().contains(42));
+        assertFalse(map.keySet().contains(100));
+        assertTrue(map.values().contains("value42"));
+        assertTrue(map.containsValue("value99"));
+        assertFalse(map.containsValue("value100"));
+        map.put(100, null);
+        assertTrue(map.containsValue(null));
+    }
+
+    @Test
+    public void forEachShouldVisitEveryEntry() throws Exception {
+        HashMap<Integer, Integer> map = new HashMap<>(1 << 4, 0.75, true);
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, -i);
+            expected.put(i, -i);
+        }
+
+        java.util.Map<Integer, Integer> visited = new java.util.HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+
+        Set<Integer> keys = new HashSet<>();
+        map.forEachKey(keys::add);
+        assertEquals(expected.keySet(), keys);
+
+        long[] sum = new long[1];
+        map.forEachValue(value -> sum[0] += value);
+        assertEquals(-999 * 1000 / 2, sum[0]);
+
+        map.replaceAll((key, value) -> key * 2);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 2, map.get(i), 0);
+        }
+    }
+
+    @Test
+    public void removeIfShouldRemoveFromChainsAndTrees() throws Exception {
+        HashMap<Object, Integer> map = new HashMap<>(1 << 7);
+        java.util.Map<Object, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1 << 10; i++) {
+            Object key = i % 2 == 0 ? new ComparableTestClass(i, i % 3) : i;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        assertEquals("TreeEntry", getBucket(map, 0).getClass().getSimpleName());
+
+        assertTrue(map.removeIf((key, value) -> value % 5 != 0));
+        expected.values().removeIf(value -> value % 5 != 0);
+        assertFalse(map.removeIf((key, value) -> value % 5 != 0));
+        assertEquals(expected.size(), map.size());
+        for (java.util.Map.Entry<Object, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+
+        assertTrue(map.removeIf((key, value) -> true));
+        assertTrue(map.isEmpty());
+        assertFalse(map.keySet().iterator().hasNext());
+    }
+
+    @Test
+    public void parallelStreamsShouldSeeEveryEntry() throws Exception {
+        HashMap<Integer, Long> map = new HashMap<>(1 << 4, 0.75, true);
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, (long) i);
+        }
+
+        assertEquals(100000L * 99999 / 2, map.parallelStream().mapToLong(entry -> entry.getValue()).sum());
+        assertEquals(100000L * 99999 / 2, map.stream().mapToLong(entry -> entry.getKey()).sum());
+        assertEquals(100000, map.keySet().parallelStream().distinct().count());
+        assertEquals(100000L * 99999 / 2, map.values().parallelStream().mapToLong(Long::longValue).sum());
+        assertEquals(new HashSet<>(map.keySet()), map.keySet().parallelStream().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void spliteratorShouldSplitByBuckets() throws Exception {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        Spliterator<Integer> suffix = map.keySet().spliterator();
+        assertEquals(1000, suffix.estimateSize());
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(suffix.hasCharacteristics(Spliterator.DISTINCT));
+
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(500, prefix.estimateSize());
+        assertEquals(500, suffix.estimateSize());
+        assertFalse(prefix.hasCharacteristics(Spliterator.SIZED));
+
+        Set<Integer> keys = new HashSet<>();
+        assertTrue(prefix.tryAdvance(keys::add));
+        prefix.forEachRemaining(keys::add);
+        suffix.forEachRemaining(keys::add);
+        assertEquals(new HashSet<>(map.keySet()), keys);
+        assertFalse(suffix.tryAdvance(keys::add));
+    }
+
+    private Object getBucket(Map map, int index) throws Exception {
+        Field field = map.getClass().getDeclaredField("buckets");
+        field.setAccessible(true);
+        return ((Object[]) field.get(map))[index];
+    }
+
     private int getCapacity(Map map) throws Exception {
         Field field = map.getClass().getDeclaredField("capacity");
         field.setAccessible(true);
@@ -535,4 +996,34 @@ public class HashMapTest {
             return 42;
         }
     }
+
+    class ComparableTestClass implements Comparable<ComparableTestClass> {
+        private int i;
+        private int hashCode;
+
+        ComparableTestClass(int i, int hashCode) {
+            this.i = i;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int compareTo(ComparableTestClass o) {
+            return Integer.compare(i, o.i);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            return i == ((ComparableTestClass) o).i;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
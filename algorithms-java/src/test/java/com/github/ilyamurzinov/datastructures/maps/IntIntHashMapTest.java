@@ -0,0 +1,132 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class IntIntHashMapTest {
+
+    private Random random = new Random();
+
+    @Test
+    public void mapShouldPutGetAndRemovePrimitives() throws Exception {
+        IntIntHashMap map = new IntIntHashMap();
+        assertEquals(0, map.put(1, 10));
+        assertEquals(10, map.put(1, 11));
+        assertEquals(11, map.get(1));
+        assertTrue(map.containsKey(1));
+        assertEquals(11, map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(0, map.get(1));
+        assertEquals(-1, map.getOrDefault(1, -1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void mapShouldHandleFreeKey() throws Exception {
+        IntIntHashMap map = new IntIntHashMap();
+        assertFalse(map.containsKey(0));
+        assertNull(map.get(Integer.valueOf(0)));
+        map.put(0, 42);
+        assertTrue(map.containsKey(0));
+        assertEquals(42, map.get(0));
+        assertEquals(1, map.size());
+        assertEquals(1, map.keySet().size());
+        assertTrue(map.keySet().contains(0));
+        assertEquals(42, map.remove(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void mapShouldSupportBoxedInterface() throws Exception {
+        Map<Integer, Integer> map = new IntIntHashMap();
+        assertNull(map.put(5, 6));
+        assertEquals(6, map.put(5, 7), 0);
+        assertEquals(7, map.get(5), 0);
+        assertNull(map.get(6));
+        assertNull(map.get(null));
+        assertTrue(map.containsValue(7));
+        assertEquals(7, map.remove(5), 0);
+        assertNull(map.remove(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapShouldNotAcceptNullKey() throws Exception {
+        Map<Integer, Integer> map = new IntIntHashMap();
+        map.put(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapShouldNotAcceptIncorrectLoadFactor() throws Exception {
+        new IntIntHashMap(16, 1);
+    }
+
+    @Test
+    public void mapShouldMatchJavaUtilHashMap() throws Exception {
+        IntIntHashMap map = new IntIntHashMap(4);
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1 << 16; i++) {
+            int key = random.nextInt(1 << 10) - (1 << 9);
+            int value = random.nextInt();
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? 0 : removed, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, value);
+                assertEquals(previous == null ? 0 : previous, map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int key = -(1 << 9); key < 1 << 9; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.get(key), map.get(Integer.valueOf(key)));
+        }
+        assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+        }
+    }
+
+    @Test
+    public void mapShouldClearCorrectly() throws Exception {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int i = 0; i < 1 << 10; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(100));
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void mapShouldRejectInsertsThatWouldFillTheTableAtMaximumCapacity() throws Exception {
+        IntIntHashMap map = new IntIntHashMap(0, 0.5, 4);
+        map.put(0, 0);
+        for (int key = 1; key <= 3; key++) {
+            map.put(key, key);
+        }
+        assertFalse(map.containsKey(4));
+        assertEquals(-1, map.getOrDefault(4, -1));
+        assertEquals(0, map.remove(4));
+        assertEquals(1, map.put(1, 10));
+        try {
+            map.put(4, 4);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(4, map.size());
+        }
+        map.remove(1);
+        map.put(4, 4);
+        assertEquals(4, map.get(4));
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class LongObjectHashMapTest {
+
+    private Random random = new Random();
+
+    @Test
+    public void mapShouldPutGetAndRemovePrimitiveKeys() throws Exception {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        assertNull(map.put(1L << 40, "value"));
+        assertEquals("value", map.put(1L << 40, "new value"));
+        assertEquals("new value", map.get(1L << 40));
+        assertTrue(map.containsKey(1L << 40));
+        assertFalse(map.containsKey(1L));
+        assertEquals("new value", map.remove(1L << 40));
+        assertNull(map.get(1L << 40));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void mapShouldHandleFreeKeyAndNullValues() throws Exception {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(0, null);
+        assertTrue(map.containsKey(0));
+        assertNull(map.get(0));
+        assertTrue(map.containsValue(null));
+        map.put(0, "zero");
+        assertEquals("zero", map.get(0));
+        assertEquals(1, map.size());
+        assertEquals("zero", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void mapShouldMatchJavaUtilHashMap() throws Exception {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        java.util.Map<Long, String> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1 << 16; i++) {
+            long key = (random.nextInt(1 << 10) - (1 << 9)) * 0x100000001L;
+            String value = String.valueOf(random.nextInt());
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key : expected.keySet()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        for (Map.Entry<Long, String> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+        }
+    }
+
+    @Test
+    public void mapShouldSupportBoxedInterface() throws Exception {
+        Map<Long, String> map = new LongObjectHashMap<>();
+        Long key = 42L;
+        map.put(key, "value");
+        assertTrue(map.containsKey(key));
+        assertEquals("value", map.get(key));
+        assertNull(map.get(null));
+        assertEquals("value", map.remove(key));
+        assertFalse(map.containsKey(key));
+    }
+
+    @Test
+    public void mapShouldRejectInsertsThatWouldFillTheTableAtMaximumCapacity() throws Exception {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(0, 0.5, 4);
+        map.put(0L, "0");
+        for (long key = 1; key <= 3; key++) {
+            map.put(key, String.valueOf(key));
+        }
+        assertFalse(map.containsKey(4L));
+        assertNull(map.get(4L));
+        assertNull(map.remove(4L));
+        assertEquals("1", map.put(1L, "10"));
+        try {
+            map.put(4L, "4");
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(4, map.size());
+        }
+        map.remove(1L);
+        map.put(4L, "4");
+        assertEquals("4", map.get(4L));
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import com.github.ilyamurzinov.datastructures.io.Codecs;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class MappedHashMapTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Random random = new Random();
+
+    @Test
+    public void mapShouldPutGetAndRemove() throws Exception {
+        try (MappedHashMap<Long, Long> map = MappedHashMap.open(file(), Codecs.LONG, Codecs.LONG)) {
+            assertNull(map.put(1L << 40, 1L));
+            assertEquals(Long.valueOf(1), map.put(1L << 40, 2L));
+            assertEquals(Long.valueOf(2), map.get(1L << 40));
+            assertTrue(map.containsKey(1L << 40));
+            assertFalse(map.containsKey(1L));
+            assertTrue(map.containsValue(2L));
+            assertEquals(Long.valueOf(2), map.remove(1L << 40));
+            assertNull(map.get(1L << 40));
+            assertTrue(map.isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapShouldRejectNullValues() throws Exception {
+        try (MappedHashMap<Long, Long> map = MappedHashMap.open(file(), Codecs.LONG, Codecs.LONG)) {
+            map.put(1L, null);
+        }
+    }
+
+    @Test
+    public void mapShouldMatchJavaUtilHashMapWhileGrowing() throws Exception {
+        java.util.Map<Long, Integer> expected = new java.util.HashMap<>();
+        try (MappedHashMap<Long, Integer> map = MappedHashMap.open(file(), Codecs.LONG, Codecs.INT, 4, 0.5)) {
+            for (int i = 0; i < 1 << 15; i++) {
+                long key = random.nextInt(1 << 12) * 0x100000001L;
+                int value = random.nextInt();
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                }
+                assertEquals(expected.size(), map.size());
+            }
+
+            for (java.util.Map.Entry<Long, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+            assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        }
+    }
+
+    @Test
+    public void mapShouldSurviveReopening() throws Exception {
+        Path file = file();
+        try (MappedHashMap<String, Long> map = MappedHashMap.open(file, Codecs.fixedWidthString(16), Codecs.LONG)) {
+            for (long i = 0; i < 10000; i++) {
+                map.put("key" + i, i);
+            }
+            map.remove("key0");
+        }
+
+        try (MappedHashMap<String, Long> map = MappedHashMap.open(file, Codecs.fixedWidthString(16), Codecs.LONG)) {
+            assertEquals(9999, map.size());
+            assertNull(map.get("key0"));
+            for (long i = 1; i < 10000; i++) {
+                assertEquals(Long.valueOf(i), map.get("key" + i));
+            }
+        }
+    }
+
+    @Test
+    public void entrySetValueShouldWriteThrough() throws Exception {
+        try (MappedHashMap<Integer, Integer> map = MappedHashMap.open(file(), Codecs.INT, Codecs.INT)) {
+            for (int i = 0; i < 100; i++) {
+                map.put(i, i);
+            }
+            Set<Integer> keys = new HashSet<>();
+            for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                keys.add(entry.getKey());
+                entry.setValue(-entry.getKey());
+            }
+            assertEquals(100, keys.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Integer.valueOf(-i), map.get(i));
+            }
+            map.clear();
+            assertTrue(map.isEmpty());
+            assertFalse(map.keySet().iterator().hasNext());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void openShouldRejectMismatchedCodecs() throws Exception {
+        Path file = file();
+        MappedHashMap.open(file, Codecs.LONG, Codecs.LONG).close();
+        MappedHashMap.open(file, Codecs.INT, Codecs.LONG);
+    }
+
+    @Test(expected = IOException.class)
+    public void openShouldRejectForeignFiles() throws Exception {
+        Path file = file();
+        Files.write(file, new byte[128]);
+        MappedHashMap.open(file, Codecs.LONG, Codecs.LONG);
+    }
+
+    @Test(expected = IOException.class)
+    public void openShouldRejectSizesThatFillTheTable() throws Exception {
+        Path file = file();
+        MappedHashMap.open(file, Codecs.LONG, Codecs.LONG).close();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(20);
+            int capacity = raf.readInt();
+            raf.writeInt(capacity);
+        }
+        MappedHashMap.open(file, Codecs.LONG, Codecs.LONG);
+    }
+
+    @Test
+    public void mapShouldRejectInsertsThatWouldFillTheTableAtMaximumCapacity() throws Exception {
+        try (MappedHashMap<Long, Long> map = MappedHashMap.open(file(), Codecs.LONG, Codecs.LONG, 0, 0.5, 4)) {
+            for (long key = 0; key < 3; key++) {
+                map.put(key, key);
+            }
+            assertFalse(map.containsKey(3L));
+            assertNull(map.remove(3L));
+            assertEquals(Long.valueOf(1), map.put(1L, 10L));
+            try {
+                map.put(3L, 3L);
+                fail();
+            } catch (IllegalStateException e) {
+                assertEquals(3, map.size());
+            }
+            map.remove(1L);
+            map.put(3L, 3L);
+            assertEquals(Long.valueOf(3), map.get(3L));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedMapShouldFailFast() throws Exception {
+        MappedHashMap<Long, Long> map = MappedHashMap.open(file(), Codecs.LONG, Codecs.LONG);
+        map.close();
+        map.get(1L);
+    }
+
+    private Path file() throws IOException {
+        return folder.getRoot().toPath().resolve("map.bin");
+    }
+}
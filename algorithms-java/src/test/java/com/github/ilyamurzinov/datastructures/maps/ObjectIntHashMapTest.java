@@ -0,0 +1,117 @@
+package com.github.ilyamurzinov.datastructures.maps;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class ObjectIntHashMapTest {
+
+    private Random random = new Random();
+
+    @Test
+    public void mapShouldPutGetAndRemovePrimitiveValues() throws Exception {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>();
+        assertEquals(0, map.put("key", 1));
+        assertEquals(1, map.put("key", 2));
+        assertEquals(2, map.getInt("key"));
+        assertEquals(0, map.getInt("other"));
+        assertEquals(-1, map.getOrDefault("other", -1));
+        assertEquals(2, map.removeInt("key"));
+        assertFalse(map.containsKey("key"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void mapShouldHandleNullKey() throws Exception {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>();
+        assertNull(map.get(null));
+        map.put(null, 7);
+        assertTrue(map.containsKey(null));
+        assertEquals(7, map.getInt(null));
+        assertTrue(map.keySet().contains(null));
+        assertEquals(7, map.removeInt(null));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void mapShouldHandleConstantHashCode() throws Exception {
+        ObjectIntHashMap<Colliding> map = new ObjectIntHashMap<>();
+        for (int i = 0; i < 1 << 8; i++) {
+            map.put(new Colliding(i), i);
+        }
+        for (int i = 0; i < 1 << 8; i += 2) {
+            assertEquals(i, map.removeInt(new Colliding(i)));
+        }
+        for (int i = 0; i < 1 << 8; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(new Colliding(i)));
+        }
+    }
+
+    @Test
+    public void mapShouldMatchJavaUtilHashMap() throws Exception {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>(4);
+        java.util.Map<String, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 1 << 16; i++) {
+            String key = String.valueOf(random.nextInt(1 << 10));
+            int value = random.nextInt();
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, value), map.put(key, Integer.valueOf(value)));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected.keySet(), new HashSet<>(map.keySet()));
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+        }
+    }
+
+    private static class Colliding {
+        private final int i;
+
+        Colliding(int i) {
+            this.i = i;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Colliding && ((Colliding) o).i == i;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    @Test
+    public void mapShouldRejectInsertsThatWouldFillTheTableAtMaximumCapacity() throws Exception {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>(0, 0.5, 4);
+        map.put(null, 0);
+        for (int key = 1; key <= 3; key++) {
+            map.put(String.valueOf(key), key);
+        }
+        assertFalse(map.containsKey("4"));
+        assertEquals(-1, map.getOrDefault("4", -1));
+        assertEquals(0, map.removeInt("4"));
+        assertEquals(1, map.put("1", 10));
+        try {
+            map.put("4", 4);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(4, map.size());
+        }
+        map.removeInt("1");
+        map.put("4", 4);
+        assertEquals(4, map.getInt("4"));
+    }
+}
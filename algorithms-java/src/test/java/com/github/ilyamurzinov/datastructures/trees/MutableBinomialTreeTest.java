@@ -0,0 +1,71 @@
+package com.github.ilyamurzinov.datastructures.trees;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class MutableBinomialTreeTest {
+
+    @Test
+    public void testLink() throws Exception {
+        MutableBinomialTree<Integer> tree = new MutableBinomialTree<>(6).link(new MutableBinomialTree<>(44));
+        MutableBinomialTree<Integer> other = new MutableBinomialTree<>(10).link(new MutableBinomialTree<>(17));
+
+        MutableBinomialTree<Integer> result = tree.link(other);
+
+        assertEquals(2, result.getDegree());
+        assertEquals(6, result.getRootValue(), 0);
+        assertEquals("BinomialTree[root: Node[degree: 2, value: 6, "
+                        + "children: Node[degree: 1, value: 10, "
+                        + "children: Node[degree: 0, value: 17, children: null, siblings: null], "
+                        + "siblings: Node[degree: 0, value: 44, children: null, siblings: null]], siblings: null]]",
+                result.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLinkTreesOfDifferentDegrees() throws Exception {
+        MutableBinomialTree<Integer> tree = new MutableBinomialTree<>(6).link(new MutableBinomialTree<>(44));
+        tree.link(new MutableBinomialTree<>(10));
+    }
+
+    @Test
+    public void testRemoveFirstChild() throws Exception {
+        MutableBinomialTree<Integer> tree = build(0, 3);
+
+        for (int degree = 2; degree >= 0; degree--) {
+            MutableBinomialTree<Integer> child = tree.removeFirstChild();
+            assertEquals(degree, child.getDegree());
+            assertEquals(1 << degree, child.getRootValue(), 0);
+            assertEquals(degree, tree.getDegree());
+            assertEquals(build(1 << degree, degree).toString(), child.toString());
+        }
+        assertNull(tree.removeFirstChild());
+        assertEquals(0, tree.getRootValue(), 0);
+    }
+
+    @Test
+    public void testCopy() throws Exception {
+        MutableBinomialTree<Integer> tree = build(0, 3);
+        MutableBinomialTree<Integer> copy = tree.copy();
+        assertEquals(tree.toString(), copy.toString());
+
+        copy.removeFirstChild();
+        copy.link(new MutableBinomialTree<>(8).link(new MutableBinomialTree<>(9)).link(
+                new MutableBinomialTree<>(10).link(new MutableBinomialTree<>(11))));
+        assertEquals(build(0, 3).toString(), tree.toString());
+    }
+
+    /**
+     * Builds a tree of the given degree holding {@code from .. from + 2^degree - 1}.
+     */
+    private static MutableBinomialTree<Integer> build(int from, int degree) {
+        if (degree == 0) {
+            return new MutableBinomialTree<>(from);
+        }
+        return build(from, degree - 1).link(build(from + (1 << (degree - 1)), degree - 1));
+    }
+}
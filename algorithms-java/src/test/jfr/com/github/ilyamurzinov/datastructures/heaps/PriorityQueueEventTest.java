@@ -0,0 +1,45 @@
+package com.github.ilyamurzinov.datastructures.heaps;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ilya Murzinov
+ */
+public class PriorityQueueEventTest {
+
+    @Test
+    public void sampledOperationsShouldBeEmittedToFlightRecorder() throws Exception {
+        Path file = Files.createTempFile("queue", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.github.ilyamurzinov.datastructures.PriorityQueueOperation");
+            recording.start();
+            InstrumentedPriorityQueue<Integer> queue = new InstrumentedPriorityQueue<>(PairingHeap::new, null, 2);
+            for (int i = 0; i < 10; i++) {
+                queue.add(i);
+            }
+            for (int i = 0; i < 4; i++) {
+                queue.deleteMin();
+            }
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(7, events.size());
+            assertEquals("PairingHeap", events.get(0).getString("queue"));
+            assertEquals("add", events.get(0).getString("operation"));
+            assertEquals(2, events.get(0).getInt("size"));
+            assertEquals("deleteMin", events.get(6).getString("operation"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}